@@ -14,7 +14,9 @@ public final class SavvySorter {
     private static final int LEGAL_ARGS_LENGTH = 0;
     private static final String ILLEGAL_INPUT_ARGUMENTS_MESSAGE = "the entered starting arguments are not allowed!";
     private static final String SUCCESSFUL_START_MESSAGE = "Use one of the following commands: ";
-    private static final String COMMANDS_FORMAT_MESSAGE = "load <path>, run <id>, change <id> <file> <number>, quit";
+    private static final String COMMANDS_FORMAT_MESSAGE =
+        "load <path>, run <id>, change <id> <file> <number>, batch [<path>], log <path>, save <id> <path>, "
+            + "restore <path>, quit";
 
     /**
      * Private constructor to prevent instantiation.
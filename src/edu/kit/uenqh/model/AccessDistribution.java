@@ -0,0 +1,218 @@
+package edu.kit.uenqh.model;
+
+import edu.kit.uenqh.model.files.File;
+
+import java.util.List;
+
+/**
+ * Accumulates the access amounts of a set of files, so that its entropy and probability can be evaluated in O(1).
+ * For a total access amount T and the sum S of a * log2(a) over all access amounts a,
+ * the entropy is H(D) = (T * log2(T) - S) / T, which is evaluated like the conditional entropies of partitions of the
+ * files, so that a partition into a single set has exactly the entropy of the files.
+ * S is summed exactly as a 128-bit fixed-point number, so that it does not depend on the order in which files are
+ * added and removed, and an updated distribution equals one accumulated from scratch.
+ *
+ * @author uenqh
+ */
+public class AccessDistribution {
+    private static final int FRACTION_BITS = 52;
+    private static final int MANTISSA_BITS = 52;
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+    private static final long IMPLICIT_BIT = 1L << MANTISSA_BITS;
+    private static final double TWO_TO_THE_64 = 0x1p64;
+    private static final double TWO_TO_THE_MINUS_FRACTION_BITS = 0x1p-52;
+
+    private int fileCount;
+    private long totalAccesses;
+    private long weightedLogHigh;
+    private long weightedLogLow;
+    private int undefinedTermCount;
+
+    /**
+     * Constructs a new empty AccessDistribution.
+     */
+    public AccessDistribution() {
+        this.fileCount = 0;
+        this.totalAccesses = 0;
+        this.weightedLogHigh = 0;
+        this.weightedLogLow = 0;
+        this.undefinedTermCount = 0;
+    }
+
+    /**
+     * Creates the access distribution of the given files.
+     *
+     * @param files the files
+     * @return the access distribution of the files
+     */
+    public static AccessDistribution of(List<File> files) {
+        AccessDistribution distribution = new AccessDistribution();
+        for (File file : files) {
+            distribution.add(file.getAccessAmount());
+        }
+        return distribution;
+    }
+
+    /**
+     * Adds a file with the given access amount.
+     *
+     * @param accessAmount the access amount of the file
+     */
+    public void add(int accessAmount) {
+        add(accessAmount, weightedLog(accessAmount));
+    }
+
+    /**
+     * Adds a file with the given access amount and its precomputed term a * log2(a).
+     *
+     * @param accessAmount the access amount of the file
+     * @param weightedLog  the term a * log2(a) of the access amount
+     */
+    public void add(int accessAmount, double weightedLog) {
+        this.fileCount++;
+        this.totalAccesses += accessAmount;
+        if (Double.isNaN(weightedLog)) {
+            this.undefinedTermCount++;
+            return;
+        }
+        long low = fixedPointLow(weightedLog);
+        long sum = this.weightedLogLow + low;
+        long carry = Long.compareUnsigned(sum, low) < 0 ? 1 : 0;
+        this.weightedLogHigh += fixedPointHigh(weightedLog) + carry;
+        this.weightedLogLow = sum;
+    }
+
+    /**
+     * Adds all files of the given distribution.
+     *
+     * @param distribution the distribution to add
+     */
+    public void add(AccessDistribution distribution) {
+        this.fileCount += distribution.fileCount;
+        this.totalAccesses += distribution.totalAccesses;
+        this.undefinedTermCount += distribution.undefinedTermCount;
+        long sum = this.weightedLogLow + distribution.weightedLogLow;
+        long carry = Long.compareUnsigned(sum, distribution.weightedLogLow) < 0 ? 1 : 0;
+        this.weightedLogHigh += distribution.weightedLogHigh + carry;
+        this.weightedLogLow = sum;
+    }
+
+    /**
+     * Removes a file with the given access amount.
+     *
+     * @param accessAmount the access amount of the file
+     */
+    public void remove(int accessAmount) {
+        remove(accessAmount, weightedLog(accessAmount));
+    }
+
+    /**
+     * Removes a file with the given access amount and its precomputed term a * log2(a).
+     *
+     * @param accessAmount the access amount of the file
+     * @param weightedLog  the term a * log2(a) of the access amount
+     */
+    public void remove(int accessAmount, double weightedLog) {
+        this.fileCount--;
+        this.totalAccesses -= accessAmount;
+        if (Double.isNaN(weightedLog)) {
+            this.undefinedTermCount--;
+            return;
+        }
+        long low = fixedPointLow(weightedLog);
+        long borrow = Long.compareUnsigned(this.weightedLogLow, low) < 0 ? 1 : 0;
+        this.weightedLogHigh -= fixedPointHigh(weightedLog) + borrow;
+        this.weightedLogLow -= low;
+    }
+
+    /**
+     * Retrieves the number of files.
+     *
+     * @return the number of files
+     */
+    public int getFileCount() {
+        return this.fileCount;
+    }
+
+    /**
+     * Retrieves the total access amount of all files.
+     *
+     * @return the total access amount
+     */
+    public long getTotalAccesses() {
+        return this.totalAccesses;
+    }
+
+    /**
+     * Calculates the entropy H(D) of the files.
+     * The entropy is undefined if a file has an access amount of 0.
+     *
+     * @return the entropy, or 0 if there are no files
+     */
+    public double getEntropy() {
+        if (this.fileCount == 0) {
+            return 0;
+        }
+        return (weightedLog(this.totalAccesses) - getWeightedLogSum()) / this.totalAccesses;
+    }
+
+    /**
+     * Calculates the probability of these files among all files of the given distribution.
+     *
+     * @param whole the distribution of all files
+     * @return the probability, or 0 if there are no files
+     */
+    public double getProbability(AccessDistribution whole) {
+        if (this.fileCount == 0) {
+            return 0;
+        }
+        return (double) this.totalAccesses / (double) whole.totalAccesses;
+    }
+
+    /**
+     * Calculates the term a * log2(a) of an access amount a.
+     *
+     * @param accessAmount the access amount
+     * @return the term a * log2(a)
+     */
+    public static double weightedLog(long accessAmount) {
+        return accessAmount * log2(accessAmount);
+    }
+
+    /**
+     * Retrieves the sum S of a * log2(a) over all access amounts a.
+     *
+     * @return the sum, or NaN if it is undefined
+     */
+    double getWeightedLogSum() {
+        if (this.undefinedTermCount > 0) {
+            return Double.NaN;
+        }
+        double low = (this.weightedLogLow >>> 1) * 2.0 + (this.weightedLogLow & 1);
+        return (this.weightedLogHigh * TWO_TO_THE_64 + low) * TWO_TO_THE_MINUS_FRACTION_BITS;
+    }
+
+    private static long fixedPointHigh(double weightedLog) {
+        int shift = Math.getExponent(weightedLog) - MANTISSA_BITS + FRACTION_BITS;
+        if (weightedLog == 0 || shift <= 0) {
+            return 0;
+        }
+        return mantissa(weightedLog) >>> (Long.SIZE - shift);
+    }
+
+    private static long fixedPointLow(double weightedLog) {
+        int shift = Math.getExponent(weightedLog) - MANTISSA_BITS + FRACTION_BITS;
+        if (weightedLog == 0) {
+            return 0;
+        }
+        return shift >= 0 ? mantissa(weightedLog) << shift : mantissa(weightedLog) >>> -shift;
+    }
+
+    private static long mantissa(double weightedLog) {
+        return (Double.doubleToRawLongBits(weightedLog) & MANTISSA_MASK) | IMPLICIT_BIT;
+    }
+
+    private static double log2(double x) {
+        return Math.log(x) / Math.log(2);
+    }
+}
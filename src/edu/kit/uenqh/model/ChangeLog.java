@@ -0,0 +1,206 @@
+package edu.kit.uenqh.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents an append-only log of access amount changes, which is written before the changes are applied.
+ * Each change is one line in the format of the change command, {@code <source> <occurrence> <file> <number>}, except
+ * that the file record is identified by the path of the catalog it was loaded from and the number of file records
+ * loaded from the same catalog before it instead of its id. Ids are assigned in load order, so they may refer to
+ * different file records in a later session, while the path does not. As the path may contain spaces, the occurrence,
+ * the file identifier and the access amount are the last three arguments of a line.
+ * Appended changes are buffered and written with a single flush to the storage device on commit, so a group of
+ * changes costs one synchronisation. A line that was not completely written before a crash is discarded on opening.
+ *
+ * @author uenqh
+ */
+public class ChangeLog implements Closeable {
+    private static final char LINE_SEPARATOR = '\n';
+    private static final char ARGUMENT_SEPARATOR = ' ';
+    private static final String INVALID_LINE_FORMAT = "invalid log line %s";
+
+    private final FileChannel channel;
+    private final Map<RecordKey, Map<String, Integer>> changes;
+    private final List<Change> pending;
+    private int changeCount;
+
+    private ChangeLog(FileChannel channel, Map<RecordKey, Map<String, Integer>> changes, int changeCount) {
+        this.channel = channel;
+        this.changes = changes;
+        this.pending = new ArrayList<>();
+        this.changeCount = changeCount;
+    }
+
+    /**
+     * Opens the log at the given path, creating it if it does not exist, and reads the changes it contains.
+     *
+     * @param path the path of the log
+     * @return the opened log
+     * @throws IOException if the log cannot be read or written, or contains an invalid line
+     */
+    public static ChangeLog open(Path path) throws IOException {
+        byte[] content = Files.exists(path) ? Files.readAllBytes(path) : new byte[0];
+        Map<RecordKey, Map<String, Integer>> changes = new HashMap<>();
+        int changeCount = 0;
+        int start = 0;
+        for (int end = 0; end < content.length; end++) {
+            if (content[end] == LINE_SEPARATOR) {
+                String line = new String(content, start, end - start, StandardCharsets.UTF_8);
+                changeCount++;
+                readChange(line, changeCount, changes);
+                start = end + 1;
+            }
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            // discards a torn last line, then appends after the last complete one
+            channel.truncate(start);
+            channel.position(start);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new ChangeLog(channel, changes, changeCount);
+    }
+
+    /**
+     * Retrieves the last logged access amount of every changed file of a file record.
+     *
+     * @param source     the path of the catalog the file record was loaded from
+     * @param occurrence the number of file records loaded from the same catalog before the file record
+     * @return an unmodifiable map of file identifier to access amount, in the order the files were first changed
+     */
+    public Map<String, Integer> getChanges(String source, int occurrence) {
+        return Collections.unmodifiableMap(this.changes.getOrDefault(new RecordKey(source, occurrence),
+            Collections.emptyMap()));
+    }
+
+    /**
+     * Retrieves the number of committed changes in the log, including the changes that were read on opening.
+     *
+     * @return the number of changes
+     */
+    public int getChangeCount() {
+        return this.changeCount;
+    }
+
+    /**
+     * Appends a change to the log. The change is only written on the next commit.
+     *
+     * @param source       the path of the catalog the file record was loaded from
+     * @param occurrence   the number of file records loaded from the same catalog before the file record
+     * @param identifier   the identifier of the file
+     * @param accessAmount the new access amount
+     */
+    public void append(String source, int occurrence, String identifier, int accessAmount) {
+        this.pending.add(new Change(new RecordKey(source, occurrence), identifier, accessAmount));
+    }
+
+    /**
+     * Writes all appended changes and flushes them to the storage device.
+     * The appended changes are discarded if they cannot be written.
+     *
+     * @throws IOException if the changes cannot be written
+     */
+    public void commit() throws IOException {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (Change change : this.pending) {
+            lines.append(change.record().source()).append(ARGUMENT_SEPARATOR).append(change.record().occurrence())
+                .append(ARGUMENT_SEPARATOR).append(change.identifier())
+                .append(ARGUMENT_SEPARATOR).append(change.accessAmount()).append(LINE_SEPARATOR);
+        }
+        long committedSize = this.channel.position();
+        try {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(lines.toString());
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+            this.channel.force(false);
+        } catch (IOException e) {
+            // removes partially written lines, so that later changes are not appended to a torn line
+            this.channel.truncate(committedSize);
+            this.channel.position(committedSize);
+            this.pending.clear();
+            throw e;
+        }
+        for (Change change : this.pending) {
+            this.changes.computeIfAbsent(change.record(), record -> new LinkedHashMap<>())
+                .put(change.identifier(), change.accessAmount());
+        }
+        this.changeCount += this.pending.size();
+        this.pending.clear();
+    }
+
+    /**
+     * Commits all appended changes and closes the log.
+     *
+     * @throws IOException if the changes cannot be written or the log cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    private static void readChange(String line, int lineNumber, Map<RecordKey, Map<String, Integer>> changes)
+        throws IOException {
+        int amountStart = line.lastIndexOf(ARGUMENT_SEPARATOR);
+        int identifierStart = amountStart > 0 ? line.lastIndexOf(ARGUMENT_SEPARATOR, amountStart - 1) : -1;
+        int occurrenceStart = identifierStart > 0 ? line.lastIndexOf(ARGUMENT_SEPARATOR, identifierStart - 1) : -1;
+        // the file identifier may be empty, as the load and change commands accept empty identifiers
+        if (occurrenceStart <= 0) {
+            throw new IOException(INVALID_LINE_FORMAT.formatted(lineNumber));
+        }
+        try {
+            String source = line.substring(0, occurrenceStart);
+            int occurrence = Integer.parseInt(line.substring(occurrenceStart + 1, identifierStart));
+            String identifier = line.substring(identifierStart + 1, amountStart);
+            int accessAmount = Integer.parseInt(line.substring(amountStart + 1));
+            changes.computeIfAbsent(new RecordKey(source, occurrence), key -> new LinkedHashMap<>())
+                .put(identifier, accessAmount);
+        } catch (NumberFormatException e) {
+            throw new IOException(INVALID_LINE_FORMAT.formatted(lineNumber), e);
+        }
+    }
+
+    /**
+     * Represents an appended change that is not committed yet.
+     *
+     * @param record       the file record
+     * @param identifier   the identifier of the file
+     * @param accessAmount the new access amount
+     */
+    private record Change(RecordKey record, String identifier, int accessAmount) {
+
+    }
+
+    /**
+     * Identifies a file record across sessions.
+     *
+     * @param source     the path of the catalog the file record was loaded from
+     * @param occurrence the number of file records loaded from the same catalog before the file record
+     */
+    private record RecordKey(String source, int occurrence) {
+
+    }
+}
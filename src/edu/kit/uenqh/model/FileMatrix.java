@@ -0,0 +1,185 @@
+package edu.kit.uenqh.model;
+
+import edu.kit.uenqh.model.files.File;
+import edu.kit.uenqh.model.files.tags.Tag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents the files of a record as columns of primitive arrays for the construction of file trees.
+ * Files are addressed by their index, and each tag name has a column holding the dictionary-encoded value of every
+ * file, where a value id is the index of the tag in the list of tags of that name.
+ *
+ * @author uenqh
+ */
+public class FileMatrix {
+
+    /**
+     * The value id of files without a tag of a tag name.
+     */
+    public static final int UNDEFINED_VALUE = -1;
+
+    private final File[] files;
+    private final int[] accessAmounts;
+    private final double[] weightedLogs;
+    private final Map<String, Integer> columnIndices;
+    private final List<List<Tag>> values;
+    private final int[][] columns;
+
+    /**
+     * Constructs a new FileMatrix of the given files.
+     *
+     * @param tagByName the map of tag names to their distinct tags
+     * @param files     the files
+     */
+    public FileMatrix(Map<String, ? extends Collection<Tag>> tagByName, List<File> files) {
+        this.files = files.toArray(new File[0]);
+        this.accessAmounts = new int[this.files.length];
+        this.weightedLogs = new double[this.files.length];
+        this.columnIndices = new HashMap<>();
+        this.values = new ArrayList<>();
+        this.columns = new int[tagByName.size()][];
+
+        List<Map<Tag, Integer>> valueIds = new ArrayList<>();
+        for (Map.Entry<String, ? extends Collection<Tag>> entry : tagByName.entrySet()) {
+            int column = this.values.size();
+            List<Tag> tags = new ArrayList<>(entry.getValue());
+            Map<Tag, Integer> ids = new HashMap<>();
+            for (int i = 0; i < tags.size(); i++) {
+                ids.putIfAbsent(tags.get(i), i);
+            }
+            this.columnIndices.put(entry.getKey(), column);
+            this.values.add(tags);
+            this.columns[column] = new int[this.files.length];
+            Arrays.fill(this.columns[column], UNDEFINED_VALUE);
+            valueIds.add(ids);
+        }
+
+        for (int i = 0; i < this.files.length; i++) {
+            this.accessAmounts[i] = this.files[i].getAccessAmount();
+            this.weightedLogs[i] = AccessDistribution.weightedLog(this.accessAmounts[i]);
+            for (Tag tag : this.files[i].getTags()) {
+                Integer column = this.columnIndices.get(tag.getName());
+                if (column != null) {
+                    this.columns[column][i] = valueIds.get(column).getOrDefault(tag, UNDEFINED_VALUE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of files.
+     *
+     * @return the number of files
+     */
+    public int getFileCount() {
+        return this.files.length;
+    }
+
+    /**
+     * Retrieves the access amount of the file at the given index.
+     *
+     * @param index the index of the file
+     * @return the access amount
+     */
+    public int getAccessAmount(int index) {
+        return this.accessAmounts[index];
+    }
+
+    /**
+     * Changes the access amount of the file at the given index.
+     *
+     * @param index        the index of the file
+     * @param accessAmount the new access amount
+     */
+    public void setAccessAmount(int index, int accessAmount) {
+        this.accessAmounts[index] = accessAmount;
+        this.weightedLogs[index] = AccessDistribution.weightedLog(accessAmount);
+    }
+
+    /**
+     * Retrieves the term a * log2(a) of the access amount a of the file at the given index.
+     *
+     * @param index the index of the file
+     * @return the term a * log2(a)
+     */
+    public double getWeightedLog(int index) {
+        return this.weightedLogs[index];
+    }
+
+    /**
+     * Retrieves the index of the column of the given tag name.
+     *
+     * @param tagName the tag name
+     * @return the index of the column
+     */
+    public int getColumnIndex(String tagName) {
+        return this.columnIndices.get(tagName);
+    }
+
+    /**
+     * Retrieves the value ids of all files in the given column.
+     *
+     * @param column the index of the column
+     * @return the value ids, indexed by file
+     */
+    public int[] getColumn(int column) {
+        return this.columns[column];
+    }
+
+    /**
+     * Retrieves the tags encoded by the value ids of the given column.
+     *
+     * @param column the index of the column
+     * @return the tags, indexed by value id
+     */
+    public List<Tag> getValues(int column) {
+        return this.values.get(column);
+    }
+
+    /**
+     * Creates an array of the indices of all files.
+     *
+     * @return the indices of all files
+     */
+    public int[] getAllIndices() {
+        int[] indices = new int[this.files.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    /**
+     * Creates the access distribution of the files at the given indices.
+     *
+     * @param indices the indices of the files
+     * @return the access distribution
+     */
+    public AccessDistribution getDistribution(int[] indices) {
+        AccessDistribution distribution = new AccessDistribution();
+        for (int index : indices) {
+            distribution.add(this.accessAmounts[index], this.weightedLogs[index]);
+        }
+        return distribution;
+    }
+
+    /**
+     * Retrieves the files at the given indices.
+     *
+     * @param indices the indices of the files
+     * @return the files, in the order of the indices
+     */
+    public ArrayList<File> getFiles(int[] indices) {
+        ArrayList<File> result = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            result.add(this.files[index]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package edu.kit.uenqh.model;
+
+import edu.kit.uenqh.model.files.File;
+import edu.kit.uenqh.model.files.tags.Tag;
+import edu.kit.uenqh.utility.TreeNode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents the file tree of a list of files, which is maintained incrementally when access amounts change.
+ *
+ * @author uenqh
+ */
+public class FileTree {
+    private final FileMatrix matrix;
+    private final Map<String, Integer> tagColumns;
+    private final TreeSettings settings;
+    private Subtree root;
+
+    /**
+     * Constructs a new FileTree and creates the tree of the given files.
+     *
+     * @param tagByName the map of tag names to their distinct tags
+     * @param files     the list of files
+     * @param settings  the settings of the file tree
+     */
+    public FileTree(Map<String, ? extends Collection<Tag>> tagByName, ArrayList<File> files,
+                    TreeSettings settings) {
+        this.matrix = new FileMatrix(tagByName, files);
+        this.tagColumns = new HashMap<>();
+        for (String s : tagByName.keySet()) {
+            this.tagColumns.put(s, this.matrix.getColumnIndex(s));
+        }
+        this.settings = settings;
+        this.root = InformationTheory.createSubtree(this.matrix, this.tagColumns, this.matrix.getAllIndices(), 0,
+            settings);
+    }
+
+    /**
+     * Retrieves the root of the file tree.
+     *
+     * @return the root of the file tree
+     */
+    public TreeNode getRoot() {
+        return this.root.getNode();
+    }
+
+    /**
+     * Changes the access amount of the file at the given index of the list of files and updates the tree.
+     *
+     * @param index        the index of the file
+     * @param accessAmount the new access amount
+     */
+    public void changeAccessAmount(int index, int accessAmount) {
+        int oldAmount = this.matrix.getAccessAmount(index);
+        this.matrix.setAccessAmount(index, accessAmount);
+        this.root = this.root.changeAccessAmount(this.matrix, index, oldAmount, this.settings);
+    }
+
+    /**
+     * Writes the output of the file tree to the given writer, followed by a line break.
+     *
+     * @param writer the writer to write to
+     * @throws IOException if the writer fails
+     */
+    public void write(Writer writer) throws IOException {
+        this.root.getNode().write(writer);
+    }
+
+    /**
+     * Generates the output of the file tree.
+     *
+     * @return the output of the file tree
+     */
+    @Override
+    public String toString() {
+        return this.root.getNode().toString();
+    }
+}
@@ -6,9 +6,15 @@
 import edu.kit.uenqh.utility.TreeNode;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Provides methods for calculating information theory metrics and creating file trees.
@@ -18,10 +24,12 @@
 public final class InformationTheory {
 
     /**
-     * The minimum value for recursion.
+     * The default minimum information gain for recursion.
      */
     public static final double MIN_VALUE_FOR_RECURSION = 0.001;
 
+    private static final String OTHER_EDGE = "other";
+
     /**
      * Private constructor to prevent instantiation.
      */
@@ -30,183 +38,294 @@ private InformationTheory() {
     }
 
     /**
-     * Calculates the entropy H(D) for a given list of files.
+     * Calculates the probability of the filtered files among all files.
      *
-     * @param files the list of files
-     * @return the entropy
+     * @param filteredFiles the list of filtered files
+     * @param files         the list of all files
+     * @return the probability
      */
-    private static double calculateEntropy(ArrayList<File> files) {
-        double entropy = 0;
-        for (File file : files) {
-            double probability = (double) file.getAccessAmount() / (double) calculateTotalAccesses(files);
-            entropy -= probability * log2(probability);
-        }
-        return entropy;
+    public static double calculateProbability(ArrayList<File> filteredFiles, ArrayList<File> files) {
+        return AccessDistribution.of(filteredFiles).getProbability(AccessDistribution.of(files));
     }
 
     /**
-     * Calculates the logarithm base 2 of the given value.
+     * Partitions the files at the given indices by each remaining tag name.
      *
-     * @param x the value
-     * @return the logarithm base 2
+     * @param matrix     the matrix of the files
+     * @param tagColumns the map of the remaining tag names to their columns
+     * @param indices    the indices of the files
+     * @param settings   the settings of the file tree
+     * @param sampled    true if the files are a sample drawn with replacement by access amount
+     * @return the map of tag name to partition, in the iteration order of the tag names
      */
-    private static double log2(double x) {
-        return Math.log(x) / Math.log(2);
+    private static Map<String, TagPartition> createPartitions(FileMatrix matrix, Map<String, Integer> tagColumns,
+                                                              int[] indices, TreeSettings settings, boolean sampled) {
+        Map<String, TagPartition> partitions = new LinkedHashMap<>();
+        if (settings.isParallelGain() && indices.length >= settings.getParallelGainThreshold()) {
+            List<ForkJoinTask<TagPartition>> tasks = new ArrayList<>();
+            for (String s : tagColumns.keySet()) {
+                int column = tagColumns.get(s);
+                tasks.add(ForkJoinTask.adapt(() -> createPartition(matrix, column, indices, settings, sampled)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            int i = 0;
+            for (String s : tagColumns.keySet()) {
+                partitions.put(s, tasks.get(i++).join());
+            }
+        } else {
+            for (String s : tagColumns.keySet()) {
+                partitions.put(s, createPartition(matrix, tagColumns.get(s), indices, settings, sampled));
+            }
+        }
+        return partitions;
     }
 
-    /**
-     * Calculates the total access amount of all documents in the given list of files.
-     *
-     * @param files the list of files
-     * @return the total access amount
-     */
-    private static int calculateTotalAccesses(ArrayList<File> files) {
-        int totalAccesses = 0;
-        for (File file : files) {
-            totalAccesses += file.getAccessAmount();
+    private static TagPartition createPartition(FileMatrix matrix, int column, int[] indices, TreeSettings settings,
+                                                boolean sampled) {
+        if (sampled) {
+            return TagPartition.ofSample(matrix, column, indices, settings.getTopK());
         }
-        return totalAccesses;
+        return new TagPartition(matrix, column, indices, settings.getTopK());
     }
 
     /**
-     * Calculates the conditional entropy H(D|t) for a list of tags and files.
+     * Calculates the information gain for each tag name and creates a map of tag name to information gain.
      *
-     * @param tags  the list of tags
-     * @param files the list of files
-     * @return the conditional entropy
+     * @param partitions the map of tag name to the partition of the files by that tag name
+     * @param whole      the access distribution of the files
+     * @return the map of tag name to information gain
      */
-    private static double calculateConditionalEntropy(ArrayList<Tag> tags, ArrayList<File> files) {
-        double conditionalEntropy = 0;
-        ArrayList<File> undefinedTagFiles = new ArrayList<>(files);
-        for (Tag tag : tags) {
-            ArrayList<File> filteredFiles = filterFilesByTag(tag, files);
-            undefinedTagFiles.removeAll(filteredFiles);
-            double probability = calculateProbability(filteredFiles, files);
-            conditionalEntropy += probability * calculateEntropy(filteredFiles);
-        }
-        conditionalEntropy += calculateProbability(undefinedTagFiles, files) * calculateEntropy(undefinedTagFiles);
-        return conditionalEntropy;
+    static Map<String, Double> calculateInformationGain(Map<String, TagPartition> partitions,
+                                                        AccessDistribution whole) {
+        Map<String, Double> informationGain = new HashMap<>();
+        double entropyD = whole.getEntropy();
+        for (String s : partitions.keySet()) {
+            informationGain.put(s, entropyD - partitions.get(s).getConditionalEntropy(whole));
+        }
+        return informationGain;
     }
 
     /**
-     * Calculates the probability of the filtered files among all files.
+     * Selects the tag name with the highest information gain, if it is high enough to continue the recursion.
+     * Ties are broken by the lexicographically smallest tag name if the information gains are calculated in parallel,
+     * and by the last tag name in iteration order otherwise.
      *
-     * @param filteredFiles the list of filtered files
-     * @param files         the list of all files
-     * @return the probability
+     * @param informationGain the map of tag name to information gain
+     * @param settings        the settings of the file tree
+     * @return the selected tag name, or null if the files are not split any further
      */
-    public static double calculateProbability(ArrayList<File> filteredFiles, ArrayList<File> files) {
-        double probability = 0;
-        for (File file : filteredFiles) {
-            probability += (double) file.getAccessAmount() / (double) calculateTotalAccesses(files);
+    static String selectFilterTag(Map<String, Double> informationGain, TreeSettings settings) {
+        double max;
+        if (informationGain.isEmpty()) {
+            max = 0;
+        } else {
+            max = Collections.max(informationGain.values());
+        }
+        if (!(max >= settings.getMinGain())) {
+            return null;
         }
-        return probability;
-    }
 
-    /**
-     * Filters the files by the given tag.
-     *
-     * @param tag   the tag to filter by
-     * @param files the list of files
-     * @return the filtered list of files
-     */
-    private static ArrayList<File> filterFilesByTag(Tag tag, ArrayList<File> files) {
-        ArrayList<File> filteredFiles = new ArrayList<>();
-        for (File file : files) {
-            for (Tag t : file.getTags()) {
-                if (tag.equals(t)) {
-                    filteredFiles.add(file);
-                }
+        String filterTag = null;
+        for (String s : informationGain.keySet()) {
+            if (informationGain.get(s) == max
+                && (!settings.isParallelGain() || filterTag == null || s.compareTo(filterTag) < 0)) {
+                filterTag = s;
             }
         }
-        return filteredFiles;
+        return filterTag;
     }
 
     /**
-     * Calculates the information gain IG(D, t) for a list of tags and files.
+     * Creates a file tree based on the tag by name map and the list of files.
      *
-     * @param tags  the list of tags
-     * @param files the list of files
-     * @return the information gain
+     * @param tagByName the map of tag names to their distinct tags
+     * @param files     the list of files
+     * @return the root of the file tree
      */
-    private static double calculateInformationGain(ArrayList<Tag> tags, ArrayList<File> files) {
-        double entropyD = calculateEntropy(files);
-        double conditionalEntropy = calculateConditionalEntropy(tags, files);
-        return entropyD - conditionalEntropy;
+    public static TreeNode createFileTree(Map<String, ? extends Collection<Tag>> tagByName, ArrayList<File> files) {
+        return createFileTree(tagByName, files, new TreeSettings());
     }
 
     /**
-     * Calculates the information gain for each tag and creates a map of tag to information gain.
+     * Creates a file tree based on the tag by name map and the list of files using the given settings.
      *
-     * @param tagByName the map of tag names to list of tags
+     * @param tagByName the map of tag names to their distinct tags
      * @param files     the list of files
-     * @return the map of tag name to information gain
+     * @param settings  the settings of the file tree
+     * @return the root of the file tree
      */
-    private static Map<String, Double> calculateInformationGain(Map<String, ArrayList<Tag>> tagByName, ArrayList<File> files) {
-        Map<String, Double> informationGain = new HashMap<>();
-        for (String s : tagByName.keySet()) {
-            informationGain.put(s, calculateInformationGain(tagByName.get(s), files));
-        }
-        return informationGain;
+    public static TreeNode createFileTree(Map<String, ? extends Collection<Tag>> tagByName, ArrayList<File> files,
+                                          TreeSettings settings) {
+        return new FileTree(tagByName, files, settings).getRoot();
     }
 
     /**
-     * Creates a file tree based on the tag by name map and the list of files.
+     * Creates the subtree of the files at the given indices, splitting by the remaining tag names.
      *
-     * @param tagByName the map of tag names to list of tags
-     * @param files     the list of files
-     * @return the root of the file tree
+     * @param matrix     the matrix of the files
+     * @param tagColumns the map of the remaining tag names to their columns
+     * @param indices    the indices of the files
+     * @param depth      the depth of the subtree, where the root has depth 0
+     * @param settings   the settings of the file tree
+     * @return the subtree
      */
-    public static TreeNode createFileTree(Map<String, ArrayList<Tag>> tagByName, ArrayList<File> files) {
-        Map<String, Double> informationGain = calculateInformationGain(tagByName, files);
-        double max;
-        if (informationGain.isEmpty()) {
-            max = 0;
-        } else {
-            max = Collections.max(informationGain.values());
+    static Subtree createSubtree(FileMatrix matrix, Map<String, Integer> tagColumns, int[] indices, int depth,
+                                 TreeSettings settings) {
+        SubtreeTask task = new SubtreeTask(matrix, tagColumns, indices, depth, settings);
+        if (settings.isParallel() || settings.isParallelGain()) {
+            return ForkJoinPool.commonPool().invoke(task);
         }
+        return task.compute();
+    }
 
-        String filterTag = "";
-        for (String s : informationGain.keySet()) {
-            if (informationGain.get(s) == max) {
-                filterTag = s;
+    private static Subtree buildSubtree(FileMatrix matrix, Map<String, Integer> tagColumns, int[] indices, int depth,
+                                        TreeSettings settings) {
+        AccessDistribution whole = matrix.getDistribution(indices);
+        if (!settings.canSplit(depth, whole)) {
+            // the files are not partitioned at all, as the subtree is a leaf regardless of the information gains
+            TreeNode leaf = new TreeNode(matrix.getFiles(indices));
+            return new Subtree(indices, tagColumns, depth, whole, new LinkedHashMap<>(), leaf, null, null);
+        }
+        Map<String, TagPartition> partitions;
+        Map<String, Double> informationGain;
+        String filterTag;
+        boolean sampled = settings.isSampled() && indices.length > settings.getSampleSize();
+        if (sampled) {
+            // the information gains are estimated, and the files are only partitioned by the selected tag name
+            int[] sample = WeightedSample.draw(matrix, indices, settings.getSampleSize());
+            AccessDistribution sampleWhole = new AccessDistribution();
+            for (int i = 0; i < sample.length; i++) {
+                sampleWhole.add(TagPartition.SAMPLED_ACCESS_AMOUNT);
+            }
+            informationGain = calculateInformationGain(createPartitions(matrix, tagColumns, sample, settings, true),
+                sampleWhole);
+            filterTag = selectFilterTag(informationGain, settings);
+            partitions = new LinkedHashMap<>();
+            if (filterTag != null) {
+                partitions.put(filterTag, new TagPartition(matrix, tagColumns.get(filterTag), indices,
+                    settings.getTopK()));
             }
+        } else {
+            partitions = createPartitions(matrix, tagColumns, indices, settings, false);
+            informationGain = calculateInformationGain(partitions, whole);
+            filterTag = selectFilterTag(informationGain, settings);
+        }
+        if (filterTag == null) {
+            // create TreeNode<String> using a file
+            TreeNode leaf = new TreeNode(matrix.getFiles(indices));
+            return new Subtree(indices, tagColumns, depth, whole, partitions, leaf, null, null);
         }
 
-        ArrayList<File> filteredFiles = new ArrayList<>(files);
-        ArrayList<TreeNode> children = new ArrayList<>();
-
-        Map<String, ArrayList<Tag>> filteredTagByName = new HashMap<>();
-        for (String s : tagByName.keySet()) {
-            filteredTagByName.put(s, tagByName.get(s));
+        Map<String, Integer> filteredTagColumns = new HashMap<>();
+        for (String s : tagColumns.keySet()) {
+            filteredTagColumns.put(s, tagColumns.get(s));
         }
-        filteredTagByName.remove(filterTag);
-        // continue recursion
-        if (max >= MIN_VALUE_FOR_RECURSION) {
-            // create new children using filtered lists
-            for (Tag t : tagByName.get(filterTag)) {
-                filteredFiles.removeAll(filterFilesByTag(t, files));
-                TreeNode child = createFileTree(filteredTagByName, filterFilesByTag(t, files));
-                child.setConnectingEdge(t.getValue());
-                child.setProbability(calculateProbability(filterFilesByTag(t, files), files));
-                children.add(child);
+        filteredTagColumns.remove(filterTag);
+
+        // create new children using the partitions of the filter tag
+        int column = tagColumns.get(filterTag);
+        TagPartition partition = partitions.get(filterTag);
+        int[][] childIndices = partition.split(indices);
+        Subtree[] children = createSubtrees(matrix, filteredTagColumns, childIndices, depth + 1, settings,
+            settings.isParallel() && indices.length >= settings.getParallelThreshold());
+        TreeNode parent = createNode(matrix, column, filterTag, partition, whole, children, informationGain);
+        return new Subtree(indices, tagColumns, depth, whole, partitions, parent, filterTag, children);
+    }
+
+    /**
+     * Creates the tree node of a subtree that is split by the given filter tag. The nodes of the children are
+     * connected by the values of the filter tag, followed by the other and the undefined partition. Empty partitions
+     * have no child.
+     *
+     * @param matrix          the matrix of the files
+     * @param column          the column of the filter tag
+     * @param filterTag       the tag name the files are split by
+     * @param partition       the partition of the files by the filter tag
+     * @param whole           the access distribution of the files
+     * @param children        the subtrees of the partitions, or null for an empty partition
+     * @param informationGain the map of tag names to their information gain
+     * @return the tree node
+     */
+    static TreeNode createNode(FileMatrix matrix, int column, String filterTag, TagPartition partition,
+                               AccessDistribution whole, Subtree[] children, Map<String, Double> informationGain) {
+        List<TreeNode> nodes = new ArrayList<>(children.length);
+        for (int i = 0; i < children.length; i++) {
+            if (children[i] != null) {
+                nodes.add(children[i].getNode().withConnectingEdge(getEdge(matrix, column, partition.getValueId(i)),
+                    partition.getProbability(i, whole)));
             }
+        }
+        return new TreeNode(filterTag, informationGain, nodes);
+    }
+
+    private static String getEdge(FileMatrix matrix, int column, int valueId) {
+        return switch (valueId) {
             // create new child for "undefined" tag
-            if (!filteredFiles.isEmpty()) {
-                TreeNode child = createFileTree(filteredTagByName, filteredFiles);
-                child.setConnectingEdge(String.valueOf(BinaryTagType.UNDEFINED).toLowerCase());
-                child.setProbability(calculateProbability(filteredFiles, files));
-                children.add(child);
+            case FileMatrix.UNDEFINED_VALUE -> String.valueOf(BinaryTagType.UNDEFINED).toLowerCase();
+            case TagPartition.OTHER_VALUE -> OTHER_EDGE;
+            default -> matrix.getValues(column).get(valueId).getValue();
+        };
+    }
+
+    /**
+     * Creates the subtrees of all partitions that are not empty. Empty partitions would only be empty leaves, which
+     * have no output.
+     * Subtrees created in parallel are identical to subtrees created sequentially.
+     *
+     * @param matrix     the matrix of the files
+     * @param tagColumns the map of the remaining tag names to their columns
+     * @param partitions the indices of each partition, followed by the undefined partition
+     * @param depth      the depth of the subtrees
+     * @param settings   the settings of the file tree
+     * @param parallel   true if the subtrees are created as fork/join tasks
+     * @return the subtrees, indexed like the partitions, or null for an empty partition
+     */
+    private static Subtree[] createSubtrees(FileMatrix matrix, Map<String, Integer> tagColumns, int[][] partitions,
+                                            int depth, TreeSettings settings, boolean parallel) {
+        SubtreeTask[] tasks = new SubtreeTask[partitions.length];
+        List<SubtreeTask> forked = new ArrayList<>();
+        for (int i = 0; i < partitions.length; i++) {
+            if (partitions[i].length > 0) {
+                tasks[i] = new SubtreeTask(matrix, tagColumns, partitions[i], depth, settings);
+                forked.add(tasks[i]);
             }
-        } else {
-            // create TreeNode<String> using a file
-            return new TreeNode(filteredFiles);
         }
-        TreeNode parent = new TreeNode(filterTag);
-        for (TreeNode child : children) {
-            parent.addChild(child);
+        if (parallel) {
+            ForkJoinTask.invokeAll(forked);
+        }
+        Subtree[] subtrees = new Subtree[partitions.length];
+        for (int i = 0; i < tasks.length; i++) {
+            if (tasks[i] != null) {
+                subtrees[i] = parallel ? tasks[i].join() : tasks[i].compute();
+            }
+        }
+        return subtrees;
+    }
+
+    /**
+     * Represents the creation of the subtree of the files at the given indices as a fork/join task.
+     */
+    private static final class SubtreeTask extends RecursiveTask<Subtree> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileMatrix matrix;
+        private final Map<String, Integer> tagColumns;
+        private final int[] indices;
+        private final int depth;
+        private final TreeSettings settings;
+
+        private SubtreeTask(FileMatrix matrix, Map<String, Integer> tagColumns, int[] indices, int depth,
+                            TreeSettings settings) {
+            this.matrix = matrix;
+            this.tagColumns = tagColumns;
+            this.indices = indices;
+            this.depth = depth;
+            this.settings = settings;
+        }
+
+        @Override
+        protected Subtree compute() {
+            return buildSubtree(this.matrix, this.tagColumns, this.indices, this.depth, this.settings);
         }
-        parent.getInformationGain().putAll(informationGain);
-        return parent;
     }
 }
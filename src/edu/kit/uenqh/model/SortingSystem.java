@@ -3,8 +3,12 @@
 import edu.kit.uenqh.model.files.FileRecord;
 import edu.kit.uenqh.userinput.CommandHandler;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the sorting system, which manages file records and handles user commands.
@@ -15,6 +19,11 @@ public class SortingSystem {
 
     private final CommandHandler commandHandler;
     private final List<FileRecord> fileRecords;
+    private final Map<Integer, FileRecord> fileRecordsById;
+    // the number of file records loaded from the same source before each file record, by ID
+    private final Map<Integer, Integer> occurrencesById;
+    private final TreeCache treeCache;
+    private ChangeLog changeLog;
 
     /**
      * Constructs a new SortingSystem object.
@@ -22,6 +31,9 @@ public class SortingSystem {
     public SortingSystem() {
         this.commandHandler = new CommandHandler(this);
         this.fileRecords = new ArrayList<>();
+        this.fileRecordsById = new HashMap<>();
+        this.occurrencesById = new HashMap<>();
+        this.treeCache = new TreeCache();
     }
 
     /**
@@ -36,10 +48,96 @@ public CommandHandler getCommandHandler() {
     /**
      * Gets the list of file records managed by this sorting system.
      *
-     * @return The list of file records.
+     * @return An unmodifiable view of the list of file records.
      */
     public List<FileRecord> getFileRecords() {
-        return this.fileRecords;
+        return Collections.unmodifiableList(this.fileRecords);
+    }
+
+    /**
+     * Adds a file record to this sorting system. File records loaded from the same source are told apart by their
+     * order, so that logged changes are replayed onto the same one of them in a later session.
+     *
+     * @param fileRecord The file record to add.
+     */
+    public void addFileRecord(FileRecord fileRecord) {
+        int occurrence = 0;
+        for (FileRecord other : this.fileRecords) {
+            if (other.source().equals(fileRecord.source())) {
+                occurrence++;
+            }
+        }
+        this.occurrencesById.put(fileRecord.id(), occurrence);
+        this.fileRecords.add(fileRecord);
+        this.fileRecordsById.put(fileRecord.id(), fileRecord);
+        if (this.changeLog != null) {
+            replayChanges(fileRecord);
+        }
+    }
+
+    /**
+     * Opens a change log, replacing and closing the previous one. The logged changes of all loaded file records are
+     * applied, as are those of file records loaded later on.
+     *
+     * @param changeLog The change log to open.
+     * @throws IOException If the previous change log cannot be closed.
+     */
+    public void openChangeLog(ChangeLog changeLog) throws IOException {
+        ChangeLog previous = this.changeLog;
+        this.changeLog = changeLog;
+        for (FileRecord fileRecord : this.fileRecords) {
+            replayChanges(fileRecord);
+        }
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * Appends a change of an access amount to the change log, if one is open.
+     * Changes must be logged and committed before they are applied.
+     *
+     * @param fileRecord   The file record containing the file.
+     * @param index        The index of the file in the file record.
+     * @param accessAmount The new access amount.
+     */
+    public void logAccessAmount(FileRecord fileRecord, int index, int accessAmount) {
+        if (this.changeLog != null) {
+            this.changeLog.append(fileRecord.source(), this.occurrencesById.get(fileRecord.id()),
+                fileRecord.files().get(index).getIdentifier(), accessAmount);
+        }
+    }
+
+    /**
+     * Writes all logged changes to the change log with a single flush to the storage device, if one is open.
+     *
+     * @throws IOException If the changes cannot be written.
+     */
+    public void commitChanges() throws IOException {
+        if (this.changeLog != null) {
+            this.changeLog.commit();
+        }
+    }
+
+    /**
+     * Gets the cache of the file trees of the file records.
+     *
+     * @return The tree cache.
+     */
+    public TreeCache getTreeCache() {
+        return this.treeCache;
+    }
+
+    /**
+     * Changes the access amount of a file and updates the cached trees of its file record.
+     *
+     * @param fileRecord   The file record containing the file.
+     * @param index        The index of the file in the file record.
+     * @param accessAmount The new access amount.
+     */
+    public void changeAccessAmount(FileRecord fileRecord, int index, int accessAmount) {
+        fileRecord.files().get(index).setAccessAmount(accessAmount);
+        this.treeCache.changeAccessAmount(fileRecord.id(), index, accessAmount);
     }
 
     /**
@@ -49,11 +147,17 @@ public List<FileRecord> getFileRecords() {
      * @return The file record with the specified ID, or null if not found.
      */
     public FileRecord getFileRecordById(int id) {
-        for (FileRecord fileRecord : this.fileRecords) {
-            if (fileRecord.id() == id) {
-                return fileRecord;
+        return this.fileRecordsById.get(id);
+    }
+
+    private void replayChanges(FileRecord fileRecord) {
+        Map<String, Integer> changes = this.changeLog.getChanges(fileRecord.source(),
+            this.occurrencesById.get(fileRecord.id()));
+        for (Map.Entry<String, Integer> change : changes.entrySet()) {
+            int index = fileRecord.getFileIndex(change.getKey());
+            if (index != FileRecord.NO_FILE_INDEX) {
+                changeAccessAmount(fileRecord, index, change.getValue());
             }
         }
-        return null;
     }
 }
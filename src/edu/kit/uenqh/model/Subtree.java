@@ -0,0 +1,111 @@
+package edu.kit.uenqh.model;
+
+import edu.kit.uenqh.utility.TreeNode;
+
+import java.util.Map;
+
+/**
+ * Represents a node of a file tree together with the state it was created from.
+ * The subtree keeps the access distribution of its files and their partitions by every remaining tag name, so that
+ * it can be updated after the access amount of one of its files changes without creating it again.
+ *
+ * @author uenqh
+ */
+public class Subtree {
+    private final int[] indices;
+    private final Map<String, Integer> tagColumns;
+    private final int depth;
+    private final AccessDistribution whole;
+    private final Map<String, TagPartition> partitions;
+    private TreeNode node;
+    private final String filterTag;
+    private final Subtree[] children;
+
+    /**
+     * Constructs a new Subtree.
+     *
+     * @param indices    the indices of the files of the subtree
+     * @param tagColumns the map of the remaining tag names to their columns
+     * @param depth      the depth of the subtree, where the root has depth 0
+     * @param whole      the access distribution of the files
+     * @param partitions the map of tag name to the partition of the files by that tag name, which is empty if the
+     *                   subtree may not be split, and only contains the filter tag if the information gains were
+     *                   estimated from a sample of the files
+     * @param node       the tree node of the subtree
+     * @param filterTag  the tag name the files are split by, or null for a leaf
+     * @param children   the subtrees of the partitions of the filter tag, or null for a leaf
+     */
+    Subtree(int[] indices, Map<String, Integer> tagColumns, int depth, AccessDistribution whole,
+            Map<String, TagPartition> partitions, TreeNode node, String filterTag, Subtree[] children) {
+        this.indices = indices;
+        this.tagColumns = tagColumns;
+        this.depth = depth;
+        this.whole = whole;
+        this.partitions = partitions;
+        this.node = node;
+        this.filterTag = filterTag;
+        this.children = children;
+    }
+
+    /**
+     * Retrieves the tree node of the subtree.
+     *
+     * @return the tree node
+     */
+    public TreeNode getNode() {
+        return this.node;
+    }
+
+    /**
+     * Updates the subtree after the access amount of one of its files has changed in the matrix.
+     * The access totals and entropy terms are updated along the path of the file. A subtree whose filter tag changes,
+     * or whose values of the filter tag are grouped differently, is created again; all other subtrees create their
+     * tree node again from their updated information gains and the probabilities of their children, sharing the tree
+     * nodes of the unchanged children.
+     *
+     * @param matrix    the matrix of the files, already containing the new access amount
+     * @param index     the index of the changed file
+     * @param oldAmount the old access amount of the file
+     * @param settings  the settings of the file tree
+     * @return this subtree if it was updated, or the subtree that replaces it
+     */
+    Subtree changeAccessAmount(FileMatrix matrix, int index, int oldAmount, TreeSettings settings) {
+        double oldWeightedLog = AccessDistribution.weightedLog(oldAmount);
+        int newAmount = matrix.getAccessAmount(index);
+        double newWeightedLog = matrix.getWeightedLog(index);
+        this.whole.remove(oldAmount, oldWeightedLog);
+        this.whole.add(newAmount, newWeightedLog);
+        boolean regrouped = false;
+        for (Map.Entry<String, TagPartition> partition : this.partitions.entrySet()) {
+            if (partition.getValue().changeAccessAmount(index, oldAmount, oldWeightedLog, newAmount, newWeightedLog)
+                && partition.getKey().equals(this.filterTag)) {
+                regrouped = true;
+            }
+        }
+        if (!settings.canSplit(this.depth, this.whole)) {
+            return this.filterTag == null ? this : InformationTheory.createSubtree(matrix, this.tagColumns,
+                this.indices, this.depth, settings);
+        }
+        if (this.partitions.size() != this.tagColumns.size()) {
+            // the subtree was not partitioned, as it could not be split before
+            return InformationTheory.createSubtree(matrix, this.tagColumns, this.indices, this.depth, settings);
+        }
+
+        Map<String, Double> informationGain = InformationTheory.calculateInformationGain(this.partitions, this.whole);
+        String newFilterTag = InformationTheory.selectFilterTag(informationGain, settings);
+        if (regrouped || (newFilterTag == null ? this.filterTag != null : !newFilterTag.equals(this.filterTag))) {
+            return InformationTheory.createSubtree(matrix, this.tagColumns, this.indices, this.depth, settings);
+        }
+        if (this.filterTag == null) {
+            return this;
+        }
+
+        TagPartition partition = this.partitions.get(this.filterTag);
+        int changed = partition.getPartition(index);
+        this.children[changed] = this.children[changed].changeAccessAmount(matrix, index, oldAmount, settings);
+        // tree nodes are immutable, so the nodes along the path of the file are created again
+        this.node = InformationTheory.createNode(matrix, this.tagColumns.get(this.filterTag), this.filterTag, partition,
+            this.whole, this.children, informationGain);
+        return this;
+    }
+}
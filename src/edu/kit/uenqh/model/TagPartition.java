@@ -0,0 +1,309 @@
+package edu.kit.uenqh.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Partitions files of a {@link FileMatrix} by the values of one tag name in a single scan.
+ * Each file is assigned to the partition of its value id, or to the undefined partition if it has none.
+ * The access distributions of all partitions are indexed by value id, followed by the undefined one.
+ * <p>
+ * If the number of partitions is limited to k, only the k values with the highest total access amounts among the
+ * files get a partition of their own, ordered by value id. All other values present among the files share the
+ * partition {@link #OTHER_VALUE}, which is followed by the undefined one.
+ * <p>
+ * A partition of a sample that was drawn with replacement in proportion to access amount counts every draw with the
+ * access amount {@link #SAMPLED_ACCESS_AMOUNT}, so a file that was drawn k times counts k times. As a tag name has
+ * one value per file, its information gain is the entropy of the access-weighted distribution of its values. Each
+ * draw picks a value with its access-weighted probability, so the value counts of the draws estimate this
+ * distribution, and the entropy of the counts estimates the information gain.
+ *
+ * @author uenqh
+ */
+public class TagPartition {
+
+    /**
+     * The value id of the partition that holds all values beyond the top k.
+     */
+    public static final int OTHER_VALUE = -2;
+
+    /**
+     * The limit of the number of partitions that does not limit them.
+     */
+    public static final int UNLIMITED = 0;
+
+    /**
+     * The access amount each draw of a sample is counted with.
+     */
+    public static final int SAMPLED_ACCESS_AMOUNT = 1;
+
+    private static final int NO_PARTITION = -1;
+
+    private final int[] column;
+    private final int undefinedIndex;
+    private final AccessDistribution[] distributions;
+
+    // only used if the number of partitions is limited
+    private final AccessDistribution[] valueDistributions;
+    private final int[] presentValues;
+    private final int[] valueIds;
+    private final int[] partitionOfValue;
+
+    /**
+     * Constructs a new TagPartition of the files at the given indices with one partition per value.
+     *
+     * @param matrix  the matrix of the files
+     * @param column  the index of the column of the partitioned tag name
+     * @param indices the indices of the files to partition
+     */
+    public TagPartition(FileMatrix matrix, int column, int[] indices) {
+        this(matrix, column, indices, UNLIMITED);
+    }
+
+    /**
+     * Constructs a new TagPartition of the files at the given indices.
+     *
+     * @param matrix  the matrix of the files
+     * @param column  the index of the column of the partitioned tag name
+     * @param indices the indices of the files to partition
+     * @param topK    the maximum number of values with a partition of their own, or {@link #UNLIMITED}
+     */
+    public TagPartition(FileMatrix matrix, int column, int[] indices, int topK) {
+        this(matrix, column, indices, topK, false);
+    }
+
+    private TagPartition(FileMatrix matrix, int column, int[] indices, int topK, boolean sampled) {
+        this.column = matrix.getColumn(column);
+        int valueCount = matrix.getValues(column).size();
+        AccessDistribution[] byValue = new AccessDistribution[valueCount + 1];
+        for (int i = 0; i < byValue.length; i++) {
+            byValue[i] = new AccessDistribution();
+        }
+        for (int index : indices) {
+            int valueId = this.column[index];
+            AccessDistribution distribution = byValue[valueId == FileMatrix.UNDEFINED_VALUE ? valueCount : valueId];
+            if (sampled) {
+                distribution.add(SAMPLED_ACCESS_AMOUNT);
+            } else {
+                distribution.add(matrix.getAccessAmount(index), matrix.getWeightedLog(index));
+            }
+        }
+        if (topK == UNLIMITED) {
+            this.undefinedIndex = valueCount;
+            this.distributions = byValue;
+            this.valueDistributions = null;
+            this.presentValues = null;
+            this.valueIds = null;
+            this.partitionOfValue = null;
+            return;
+        }
+
+        List<Integer> present = new ArrayList<>();
+        for (int valueId = 0; valueId < valueCount; valueId++) {
+            if (byValue[valueId].getFileCount() > 0) {
+                present.add(valueId);
+            }
+        }
+        this.valueDistributions = byValue;
+        this.presentValues = present.stream().mapToInt(Integer::intValue).toArray();
+        int explicitCount = Math.min(topK, this.presentValues.length);
+        this.undefinedIndex = explicitCount + 1;
+        this.valueIds = new int[explicitCount + 2];
+        this.valueIds[explicitCount] = OTHER_VALUE;
+        this.valueIds[this.undefinedIndex] = FileMatrix.UNDEFINED_VALUE;
+        this.partitionOfValue = new int[valueCount];
+        this.distributions = new AccessDistribution[this.undefinedIndex + 1];
+        this.distributions[this.undefinedIndex] = byValue[valueCount];
+        group(selectTopValues(explicitCount));
+    }
+
+    /**
+     * Constructs a new TagPartition of a sample of files that was drawn with replacement by access amount.
+     *
+     * @param matrix the matrix of the files
+     * @param column the index of the column of the partitioned tag name
+     * @param sample the indices of the drawn files, which contain a file once per draw
+     * @param topK   the maximum number of values with a partition of their own, or {@link #UNLIMITED}
+     * @return the partition of the sample
+     */
+    public static TagPartition ofSample(FileMatrix matrix, int column, int[] sample, int topK) {
+        return new TagPartition(matrix, column, sample, topK, true);
+    }
+
+    /**
+     * Calculates the conditional entropy H(D|t) of the partitioned files.
+     * For the total access amounts T_i of the partitions, H(D|t) = (sum of T_i * log2(T_i) - S) / T, where S and T
+     * are exact. The terms T_i * log2(T_i) are summed in ascending order of T_i, so that tag names that partition the
+     * accesses alike have bit-identical conditional entropies regardless of the order of their values.
+     *
+     * @param whole the access distribution of all partitioned files
+     * @return the conditional entropy
+     */
+    public double getConditionalEntropy(AccessDistribution whole) {
+        if (whole.getFileCount() == 0) {
+            return 0;
+        }
+        long[] totals = new long[this.distributions.length];
+        int count = 0;
+        for (AccessDistribution distribution : this.distributions) {
+            if (distribution.getFileCount() > 0) {
+                totals[count++] = distribution.getTotalAccesses();
+            }
+        }
+        Arrays.sort(totals, 0, count);
+        double weightedLogSum = 0;
+        for (int i = 0; i < count; i++) {
+            weightedLogSum += AccessDistribution.weightedLog(totals[i]);
+        }
+        return (weightedLogSum - whole.getWeightedLogSum()) / whole.getTotalAccesses();
+    }
+
+    /**
+     * Calculates the probability of the partition at the given index among all partitioned files.
+     *
+     * @param partition the index of the partition
+     * @param whole     the access distribution of all partitioned files
+     * @return the probability of the partition
+     */
+    public double getProbability(int partition, AccessDistribution whole) {
+        return this.distributions[partition].getProbability(whole);
+    }
+
+    /**
+     * Retrieves the index of the undefined partition, which is the last partition.
+     *
+     * @return the index of the undefined partition
+     */
+    public int getUndefinedIndex() {
+        return this.undefinedIndex;
+    }
+
+    /**
+     * Retrieves the value id of the partition at the given index.
+     *
+     * @param partition the index of the partition
+     * @return the value id, {@link #OTHER_VALUE} for the partition of all values beyond the top k, or
+     *         {@link FileMatrix#UNDEFINED_VALUE} for the undefined partition
+     */
+    public int getValueId(int partition) {
+        if (this.valueIds != null) {
+            return this.valueIds[partition];
+        }
+        return partition == this.undefinedIndex ? FileMatrix.UNDEFINED_VALUE : partition;
+    }
+
+    /**
+     * Splits the given indices into the partitions, keeping their order within each partition.
+     *
+     * @param indices the indices of the partitioned files
+     * @return the indices of each partition, indexed like the partitions
+     */
+    public int[][] split(int[] indices) {
+        int[][] partitions = new int[this.distributions.length][];
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i] = new int[this.distributions[i].getFileCount()];
+        }
+        int[] sizes = new int[partitions.length];
+        for (int index : indices) {
+            int partition = getPartition(index);
+            partitions[partition][sizes[partition]++] = index;
+        }
+        return partitions;
+    }
+
+    /**
+     * Moves the access amount of the file at the given index from its old to its new value.
+     * If the number of partitions is limited, the values are grouped again if the top k values change.
+     *
+     * @param index          the index of the file
+     * @param oldAmount      the old access amount of the file
+     * @param oldWeightedLog the term a * log2(a) of the old access amount
+     * @param newAmount      the new access amount of the file
+     * @param newWeightedLog the term a * log2(a) of the new access amount
+     * @return true if the values were grouped again, false otherwise
+     */
+    public boolean changeAccessAmount(int index, int oldAmount, double oldWeightedLog, int newAmount,
+                                      double newWeightedLog) {
+        AccessDistribution distribution = this.distributions[getPartition(index)];
+        distribution.remove(oldAmount, oldWeightedLog);
+        distribution.add(newAmount, newWeightedLog);
+        if (this.valueIds == null) {
+            return false;
+        }
+
+        int valueId = this.column[index];
+        if (valueId == FileMatrix.UNDEFINED_VALUE) {
+            return false;
+        }
+        int otherIndex = this.undefinedIndex - 1;
+        boolean explicit = getPartition(index) < otherIndex;
+        if (!explicit) {
+            // the distribution of the other partition is the sum, so the value is updated separately
+            this.valueDistributions[valueId].remove(oldAmount, oldWeightedLog);
+            this.valueDistributions[valueId].add(newAmount, newWeightedLog);
+        }
+        // a top value that gains accesses or another value that loses accesses cannot change the top values
+        if (otherIndex == this.presentValues.length || explicit == newAmount >= oldAmount) {
+            return false;
+        }
+        int[] topValues = selectTopValues(otherIndex);
+        if (Arrays.equals(topValues, 0, topValues.length, this.valueIds, 0, topValues.length)) {
+            return false;
+        }
+        group(topValues);
+        return true;
+    }
+
+    /**
+     * Retrieves the partition of the file at the given index.
+     *
+     * @param index the index of the file
+     * @return the index of the partition of the file
+     */
+    public int getPartition(int index) {
+        int valueId = this.column[index];
+        if (valueId == FileMatrix.UNDEFINED_VALUE) {
+            return this.undefinedIndex;
+        }
+        return this.partitionOfValue == null ? valueId : this.partitionOfValue[valueId];
+    }
+
+    /**
+     * Selects the present values with the highest total access amounts, where ties are broken by the smallest value
+     * id, and orders them by value id.
+     */
+    private int[] selectTopValues(int count) {
+        Integer[] values = Arrays.stream(this.presentValues).boxed().toArray(Integer[]::new);
+        Arrays.sort(values, Comparator.<Integer>comparingLong(value -> this.valueDistributions[value]
+            .getTotalAccesses()).reversed().thenComparing(Comparator.naturalOrder()));
+        int[] topValues = new int[count];
+        for (int i = 0; i < count; i++) {
+            topValues[i] = values[i];
+        }
+        Arrays.sort(topValues);
+        return topValues;
+    }
+
+    /**
+     * Assigns the given values a partition of their own and all other present values the other partition.
+     */
+    private void group(int[] topValues) {
+        int otherIndex = topValues.length;
+        Arrays.fill(this.partitionOfValue, NO_PARTITION);
+        AccessDistribution other = new AccessDistribution();
+        for (int i = 0; i < topValues.length; i++) {
+            this.valueIds[i] = topValues[i];
+            this.partitionOfValue[topValues[i]] = i;
+            this.distributions[i] = this.valueDistributions[topValues[i]];
+        }
+        for (int valueId : this.presentValues) {
+            if (this.partitionOfValue[valueId] == NO_PARTITION) {
+                this.partitionOfValue[valueId] = otherIndex;
+                other.add(this.valueDistributions[valueId]);
+            }
+        }
+        this.distributions[otherIndex] = other;
+    }
+}
@@ -0,0 +1,96 @@
+package edu.kit.uenqh.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the file trees of file records, so that repeated runs of a record do not create the tree again.
+ * Cached trees are updated incrementally when an access amount of their record changes, except for trees whose
+ * information gains were estimated from samples. Such trees are removed instead, as a tree created again from the
+ * changed access amounts draws a different sample.
+ * The cache holds a bounded number of trees and evicts the least recently used one when it is full.
+ *
+ * @author uenqh
+ */
+public class TreeCache {
+
+    /**
+     * The default maximum number of cached trees.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final int capacity;
+    private final LinkedHashMap<Key, FileTree> trees;
+
+    /**
+     * Constructs a new empty TreeCache with the default capacity.
+     */
+    public TreeCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty TreeCache with the given capacity.
+     *
+     * @param capacity the maximum number of cached trees
+     */
+    public TreeCache(int capacity) {
+        this.capacity = capacity;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, FileTree> eldest) {
+                return size() > TreeCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the cached tree of a file record created with the given settings.
+     *
+     * @param recordId the ID of the file record
+     * @param settings the settings the tree was created with
+     * @return the cached tree, or null if there is none
+     */
+    public FileTree get(int recordId, TreeSettings settings) {
+        return this.trees.get(new Key(recordId, settings));
+    }
+
+    /**
+     * Caches the tree of a file record created with the given settings.
+     *
+     * @param recordId the ID of the file record
+     * @param settings the settings the tree was created with
+     * @param tree     the tree
+     */
+    public void put(int recordId, TreeSettings settings, FileTree tree) {
+        this.trees.put(new Key(recordId, settings), tree);
+    }
+
+    /**
+     * Updates all cached trees of a file record after the access amount of one of its files has changed, and removes
+     * its cached trees that were created from samples.
+     *
+     * @param recordId     the ID of the file record
+     * @param index        the index of the file in the file record
+     * @param accessAmount the new access amount
+     */
+    public void changeAccessAmount(int recordId, int index, int accessAmount) {
+        Iterator<Map.Entry<Key, FileTree>> entries = this.trees.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Key, FileTree> entry = entries.next();
+            if (entry.getKey().recordId() != recordId) {
+                continue;
+            }
+            if (entry.getKey().settings().isSampled()) {
+                entries.remove();
+            } else {
+                entry.getValue().changeAccessAmount(index, accessAmount);
+            }
+        }
+    }
+
+    private record Key(int recordId, TreeSettings settings) {
+
+    }
+}
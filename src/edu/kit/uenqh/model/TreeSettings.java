@@ -0,0 +1,290 @@
+package edu.kit.uenqh.model;
+
+import java.util.Objects;
+
+/**
+ * Represents the settings used to create a file tree.
+ * The default settings create the tree sequentially and split subtrees as long as the information gain of a tag name
+ * is at least {@link InformationTheory#MIN_VALUE_FOR_RECURSION}, regardless of their depth and size.
+ *
+ * @author uenqh
+ */
+public class TreeSettings {
+
+    /**
+     * The default minimum number of files of a subtree whose children are created in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * The default minimum number of files of a subtree whose information gains are calculated in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_GAIN_THRESHOLD = 4096;
+
+    /**
+     * The default maximum depth of a subtree that is split, which does not limit the depth.
+     */
+    public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE;
+
+    /**
+     * The sample size that disables the estimation of information gains from samples.
+     */
+    public static final int NO_SAMPLING = 0;
+
+    private boolean parallel;
+    private int parallelThreshold;
+    private boolean parallelGain;
+    private int parallelGainThreshold;
+    private int maxDepth;
+    private int minFiles;
+    private long minAccesses;
+    private double minGain;
+    private int topK;
+    private int sampleSize;
+
+    /**
+     * Constructs new TreeSettings with the default values.
+     */
+    public TreeSettings() {
+        this.parallel = false;
+        this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        this.parallelGain = false;
+        this.parallelGainThreshold = DEFAULT_PARALLEL_GAIN_THRESHOLD;
+        this.maxDepth = UNLIMITED_DEPTH;
+        this.minFiles = 0;
+        this.minAccesses = 0;
+        this.minGain = InformationTheory.MIN_VALUE_FOR_RECURSION;
+        this.topK = TagPartition.UNLIMITED;
+        this.sampleSize = NO_SAMPLING;
+    }
+
+    /**
+     * Checks whether subtrees are created in parallel.
+     *
+     * @return true if subtrees are created in parallel, false otherwise
+     */
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
+    /**
+     * Retrieves the minimum number of files of a subtree whose children are created in parallel.
+     * Smaller subtrees are created sequentially.
+     *
+     * @return the minimum number of files
+     */
+    public int getParallelThreshold() {
+        return this.parallelThreshold;
+    }
+
+    /**
+     * Enables the parallel creation of subtrees with at least the given number of files.
+     *
+     * @param parallelThreshold the minimum number of files of a subtree whose children are created in parallel
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallel = true;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Checks whether the information gains of the tag names are calculated in parallel.
+     * In this mode, ties between the highest information gains are broken by the lexicographically smallest tag name.
+     *
+     * @return true if the information gains are calculated in parallel, false otherwise
+     */
+    public boolean isParallelGain() {
+        return this.parallelGain;
+    }
+
+    /**
+     * Retrieves the minimum number of files of a subtree whose information gains are calculated in parallel.
+     *
+     * @return the minimum number of files
+     */
+    public int getParallelGainThreshold() {
+        return this.parallelGainThreshold;
+    }
+
+    /**
+     * Enables the parallel calculation of the information gains of subtrees with at least the given number of files.
+     *
+     * @param parallelGainThreshold the minimum number of files of a subtree whose information gains are calculated
+     *                              in parallel
+     */
+    public void setParallelGainThreshold(int parallelGainThreshold) {
+        this.parallelGain = true;
+        this.parallelGainThreshold = parallelGainThreshold;
+    }
+
+    /**
+     * Retrieves the maximum depth of a subtree that is split, where the root has depth 0.
+     * Subtrees at this depth are leaves.
+     *
+     * @return the maximum depth
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * Sets the maximum depth of a subtree that is split.
+     *
+     * @param maxDepth the maximum depth, where the root has depth 0
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Retrieves the minimum number of files of a subtree that is split.
+     *
+     * @return the minimum number of files
+     */
+    public int getMinFiles() {
+        return this.minFiles;
+    }
+
+    /**
+     * Sets the minimum number of files of a subtree that is split.
+     *
+     * @param minFiles the minimum number of files
+     */
+    public void setMinFiles(int minFiles) {
+        this.minFiles = minFiles;
+    }
+
+    /**
+     * Retrieves the minimum total access amount of the files of a subtree that is split.
+     *
+     * @return the minimum total access amount
+     */
+    public long getMinAccesses() {
+        return this.minAccesses;
+    }
+
+    /**
+     * Sets the minimum total access amount of the files of a subtree that is split.
+     *
+     * @param minAccesses the minimum total access amount
+     */
+    public void setMinAccesses(long minAccesses) {
+        this.minAccesses = minAccesses;
+    }
+
+    /**
+     * Retrieves the minimum information gain of the tag name a subtree is split by.
+     *
+     * @return the minimum information gain
+     */
+    public double getMinGain() {
+        return this.minGain;
+    }
+
+    /**
+     * Sets the minimum information gain of the tag name a subtree is split by.
+     *
+     * @param minGain the minimum information gain
+     */
+    public void setMinGain(double minGain) {
+        this.minGain = minGain;
+    }
+
+    /**
+     * Retrieves the maximum number of values of a tag name with a partition of their own.
+     * All other values of the tag name share one partition.
+     *
+     * @return the maximum number of values, or {@link TagPartition#UNLIMITED}
+     */
+    public int getTopK() {
+        return this.topK;
+    }
+
+    /**
+     * Sets the maximum number of values of a tag name with a partition of their own.
+     *
+     * @param topK the maximum number of values, or {@link TagPartition#UNLIMITED}
+     */
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    /**
+     * Checks whether the information gains of large subtrees are estimated from samples of their files.
+     *
+     * @return true if the information gains are estimated, false if they are always calculated exactly
+     */
+    public boolean isSampled() {
+        return this.sampleSize != NO_SAMPLING;
+    }
+
+    /**
+     * Retrieves the number of files drawn from a subtree to estimate its information gains. The information gains
+     * of subtrees with at most this number of files are calculated exactly.
+     *
+     * @return the sample size, or {@link #NO_SAMPLING}
+     */
+    public int getSampleSize() {
+        return this.sampleSize;
+    }
+
+    /**
+     * Sets the number of files drawn from a subtree to estimate its information gains.
+     *
+     * @param sampleSize the sample size, or {@link #NO_SAMPLING}
+     */
+    public void setSampleSize(int sampleSize) {
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Checks whether a subtree with the given depth and files may be split at all.
+     *
+     * @param depth the depth of the subtree, where the root has depth 0
+     * @param whole the access distribution of the files of the subtree
+     * @return true if the subtree may be split, false if it is a leaf
+     */
+    public boolean canSplit(int depth, AccessDistribution whole) {
+        return depth < this.maxDepth && whole.getFileCount() >= this.minFiles
+            && whole.getTotalAccesses() >= this.minAccesses;
+    }
+
+    /**
+     * Indicates whether some other object is "equal to" this one.
+     *
+     * @param o the reference object with which to compare
+     * @return {@code true} if this object is the same as the obj argument; {@code false} otherwise
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TreeSettings settings = (TreeSettings) o;
+        return this.parallel == settings.parallel
+            && this.parallelThreshold == settings.parallelThreshold
+            && this.parallelGain == settings.parallelGain
+            && this.parallelGainThreshold == settings.parallelGainThreshold
+            && this.maxDepth == settings.maxDepth
+            && this.minFiles == settings.minFiles
+            && this.minAccesses == settings.minAccesses
+            && Double.compare(this.minGain, settings.minGain) == 0
+            && this.topK == settings.topK
+            && this.sampleSize == settings.sampleSize;
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     *
+     * @return a hash code value for this object
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.parallel, this.parallelThreshold, this.parallelGain, this.parallelGainThreshold,
+            this.maxDepth, this.minFiles, this.minAccesses, this.minGain, this.topK,
+            this.sampleSize);
+    }
+}
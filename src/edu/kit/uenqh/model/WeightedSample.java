@@ -0,0 +1,63 @@
+package edu.kit.uenqh.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws samples of files with replacement, where each draw picks a file with a probability proportional to its
+ * access amount. A file is drawn as often as its share of the total access amount suggests, so a file with a large
+ * share appears in the sample many times, and files without accesses are never drawn.
+ * Each draw is a uniformly random access among all accesses of the files. The draws are sorted, so that the files
+ * they fall on are found in a single scan over the cumulative access amounts.
+ * The random numbers are drawn from a fixed seed, so the same files always yield the same sample.
+ *
+ * @author uenqh
+ */
+public final class WeightedSample {
+    private static final long SEED = 0x5A5F50D1L;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private WeightedSample() {
+
+    }
+
+    /**
+     * Draws a sample of the files at the given indices.
+     *
+     * @param matrix  the matrix of the files
+     * @param indices the indices of the files
+     * @param size    the number of draws
+     * @return the indices of the drawn files in ascending order, which contain a file once per draw, or no indices if
+     *         none of the files has accesses
+     */
+    public static int[] draw(FileMatrix matrix, int[] indices, int size) {
+        long totalAccesses = 0;
+        for (int index : indices) {
+            totalAccesses += Math.max(matrix.getAccessAmount(index), 0);
+        }
+        if (totalAccesses == 0) {
+            return new int[0];
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        long[] accesses = new long[size];
+        for (int i = 0; i < size; i++) {
+            accesses[i] = random.nextLong(totalAccesses);
+        }
+        Arrays.sort(accesses);
+        int[] sample = new int[size];
+        int count = 0;
+        // the draws below the total access amount of the files up to the current one fall on the current file
+        long cumulativeAccesses = 0;
+        for (int index : indices) {
+            cumulativeAccesses += Math.max(matrix.getAccessAmount(index), 0);
+            while (count < size && accesses[count] < cumulativeAccesses) {
+                sample[count++] = index;
+            }
+        }
+        Arrays.sort(sample);
+        return sample;
+    }
+}
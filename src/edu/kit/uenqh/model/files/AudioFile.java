@@ -45,4 +45,14 @@ public static String audioLengthConverter(int length) {
         }
         return ILLEGAL_LENGTH;
     }
+
+    /**
+     * Retrieves the type of an audio file.
+     *
+     * @return the type of an audio file
+     */
+    @Override
+    public String getType() {
+        return FileConstants.AUDIO_FILE_NAME;
+    }
 }
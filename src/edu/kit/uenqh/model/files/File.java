@@ -1,16 +1,12 @@
 package edu.kit.uenqh.model.files;
 
-import edu.kit.uenqh.model.files.tags.Tag;
-
-import java.util.ArrayList;
-
 /**
  * Represents a file in the system.
  *
  * @author uenqh
  */
 public abstract class File {
-    private final ArrayList<Tag> tags;
+    private final FileTags tags;
     private final String identifier;
     private int accessAmount;
 
@@ -21,17 +17,17 @@ public abstract class File {
      * @param accessAmount the access amount of the file
      */
     public File(String identifier, int accessAmount) {
-        this.tags = new ArrayList<>();
+        this.tags = new FileTags();
         this.identifier = identifier;
         this.accessAmount = accessAmount;
     }
 
     /**
-     * Retrieves the list of tags associated with the file.
+     * Retrieves the list of tags associated with the file, which can also be looked up by name.
      *
      * @return the list of tags associated with the file
      */
-    public ArrayList<Tag> getTags() {
+    public FileTags getTags() {
         return this.tags;
     }
 
@@ -44,6 +40,13 @@ public String getIdentifier() {
         return this.identifier;
     }
 
+    /**
+     * Retrieves the type of the file, as used in loaded files.
+     *
+     * @return the type of the file
+     */
+    public abstract String getType();
+
     /**
      * Retrieves the access amount of the file.
      *
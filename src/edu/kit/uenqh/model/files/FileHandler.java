@@ -6,7 +6,6 @@
 import edu.kit.uenqh.model.files.tags.TagFactory;
 
 
-import java.util.HashSet;
 import java.util.List;
 import static edu.kit.uenqh.model.files.FileConstants.MULTI_VALUE_TAG_NAME;
 
@@ -28,6 +27,7 @@ public final class FileHandler {
     private static final String AUDIO_GENRE_TAG_NAME = "audiogenre";
     private static final String VIDEO_GENRE_TAG_NAME = "videogenre";
     private static final String TEXT_GENRE_TAG_NAME = "textgenre";
+    private static final int NO_TAG_INDEX = -1;
     private static final String COLLIDING_TAGS_FORMAT = "the entered tags '%s' and '%s' are colliding with each other!";
 
     /**
@@ -66,55 +66,53 @@ public static List<File> formattedFileRecord(List<File> files) {
     }
 
     private static File handleImageFile(File file) {
-        for (int i = 0; i < file.getTags().size(); i++) {
-            Tag tag = file.getTags().get(i);
-            if (tag instanceof NumericTag && tag.getName().equalsIgnoreCase(NUMERIC_SIZE_TAG_NAME)) {
-                int size = Integer.parseInt(tag.getValue());
-                Tag newTag = TagFactory.createTag(MULTI_VALUE_TAG_NAME, IMAGE_SIZE_TAG_NAME, ImageFile.imageSizeConverter(size));
-                file.getTags().set(i, newTag);
-            }
+        int sizeIndex = file.getTags().indexOfName(NUMERIC_SIZE_TAG_NAME);
+        if (sizeIndex != NO_TAG_INDEX && file.getTags().get(sizeIndex) instanceof NumericTag tag) {
+            int size = Integer.parseInt(tag.getValue());
+            Tag newTag = TagFactory.createTag(MULTI_VALUE_TAG_NAME, IMAGE_SIZE_TAG_NAME, ImageFile.imageSizeConverter(size));
+            file.getTags().set(sizeIndex, newTag);
         }
         return file;
     }
 
     private static File handleAudioFile(File file) {
-        for (int i = 0; i < file.getTags().size(); i++) {
-            Tag tag = file.getTags().get(i);
-            if (tag instanceof NumericTag && tag.getName().equalsIgnoreCase(NUMERIC_LENGTH_TAG_NAME)) {
-                int length = Integer.parseInt(tag.getValue());
-                Tag newTag = TagFactory.createTag(MULTI_VALUE_TAG_NAME, AUDIO_LENGTH_TAG_NAME, AudioFile.audioLengthConverter(length));
-                file.getTags().set(i, newTag);
-            } else if (tag instanceof MultiValueTag && tag.getName().equalsIgnoreCase(GENRE_TAG_NAME)) {
-                tag.setName(AUDIO_GENRE_TAG_NAME);
-            }
+        int lengthIndex = file.getTags().indexOfName(NUMERIC_LENGTH_TAG_NAME);
+        if (lengthIndex != NO_TAG_INDEX && file.getTags().get(lengthIndex) instanceof NumericTag tag) {
+            int length = Integer.parseInt(tag.getValue());
+            Tag newTag = TagFactory.createTag(MULTI_VALUE_TAG_NAME, AUDIO_LENGTH_TAG_NAME, AudioFile.audioLengthConverter(length));
+            file.getTags().set(lengthIndex, newTag);
+        }
+        int genreIndex = file.getTags().indexOfName(GENRE_TAG_NAME);
+        if (genreIndex != NO_TAG_INDEX && file.getTags().get(genreIndex) instanceof MultiValueTag tag) {
+            file.getTags().set(genreIndex, TagFactory.createTag(MULTI_VALUE_TAG_NAME, AUDIO_GENRE_TAG_NAME, tag.getValue()));
         }
         return file;
     }
 
     private static File handleVideoFile(File file) {
-        for (int i = 0; i < file.getTags().size(); i++) {
-            Tag tag = file.getTags().get(i);
-            if (tag instanceof NumericTag && tag.getName().equalsIgnoreCase(NUMERIC_LENGTH_TAG_NAME)) {
-                int length = Integer.parseInt(tag.getValue());
-                Tag newTag = TagFactory.createTag(MULTI_VALUE_TAG_NAME, VIDEO_LENGTH_TAG_NAME, VideoFile.videoLengthConverter(length));
-                file.getTags().set(i, newTag);
-            } else if (tag instanceof MultiValueTag && tag.getName().equalsIgnoreCase(GENRE_TAG_NAME)) {
-                tag.setName(VIDEO_GENRE_TAG_NAME);
-            }
+        int lengthIndex = file.getTags().indexOfName(NUMERIC_LENGTH_TAG_NAME);
+        if (lengthIndex != NO_TAG_INDEX && file.getTags().get(lengthIndex) instanceof NumericTag tag) {
+            int length = Integer.parseInt(tag.getValue());
+            Tag newTag = TagFactory.createTag(MULTI_VALUE_TAG_NAME, VIDEO_LENGTH_TAG_NAME, VideoFile.videoLengthConverter(length));
+            file.getTags().set(lengthIndex, newTag);
+        }
+        int genreIndex = file.getTags().indexOfName(GENRE_TAG_NAME);
+        if (genreIndex != NO_TAG_INDEX && file.getTags().get(genreIndex) instanceof MultiValueTag tag) {
+            file.getTags().set(genreIndex, TagFactory.createTag(MULTI_VALUE_TAG_NAME, VIDEO_GENRE_TAG_NAME, tag.getValue()));
         }
         return file;
     }
 
     private static File handleTextFile(File file) {
-        for (int i = 0; i < file.getTags().size(); i++) {
-            Tag tag = file.getTags().get(i);
-            if (tag instanceof NumericTag && tag.getName().equalsIgnoreCase(WORDS_TAG_NAME)) {
-                int length = Integer.parseInt(tag.getValue());
-                Tag newTag = TagFactory.createTag(MULTI_VALUE_TAG_NAME, TEXT_LENGTH_TAG_NAME, TextFile.textLengthConverter(length));
-                file.getTags().set(i, newTag);
-            } else if (tag instanceof MultiValueTag && tag.getName().equalsIgnoreCase(GENRE_TAG_NAME)) {
-                tag.setName(TEXT_GENRE_TAG_NAME);
-            }
+        int lengthIndex = file.getTags().indexOfName(WORDS_TAG_NAME);
+        if (lengthIndex != NO_TAG_INDEX && file.getTags().get(lengthIndex) instanceof NumericTag tag) {
+            int length = Integer.parseInt(tag.getValue());
+            Tag newTag = TagFactory.createTag(MULTI_VALUE_TAG_NAME, TEXT_LENGTH_TAG_NAME, TextFile.textLengthConverter(length));
+            file.getTags().set(lengthIndex, newTag);
+        }
+        int genreIndex = file.getTags().indexOfName(GENRE_TAG_NAME);
+        if (genreIndex != NO_TAG_INDEX && file.getTags().get(genreIndex) instanceof MultiValueTag tag) {
+            file.getTags().set(genreIndex, TagFactory.createTag(MULTI_VALUE_TAG_NAME, TEXT_GENRE_TAG_NAME, tag.getValue()));
         }
         return file;
     }
@@ -134,29 +132,26 @@ private static File handleProgramFile(File file) {
     public static String checkCollidingTagNames(List<File> files) {
         String message = "";
         for (File file : files) {
-            HashSet<String> tagNames = new HashSet<>();
-            for (Tag tag : file.getTags()) {
-                tagNames.add(tag.getName().toLowerCase());
-            }
-            if (tagNames.contains(GENRE_TAG_NAME.toLowerCase()) && tagNames.contains(AUDIO_GENRE_TAG_NAME)) {
+            FileTags tags = file.getTags();
+            if (tags.containsName(GENRE_TAG_NAME) && tags.containsName(AUDIO_GENRE_TAG_NAME)) {
                 message = String.format(COLLIDING_TAGS_FORMAT, GENRE_TAG_NAME, AUDIO_GENRE_TAG_NAME);
             }
-            if (tagNames.contains(GENRE_TAG_NAME.toLowerCase()) && tagNames.contains(TEXT_GENRE_TAG_NAME)) {
+            if (tags.containsName(GENRE_TAG_NAME) && tags.containsName(TEXT_GENRE_TAG_NAME)) {
                 message = String.format(COLLIDING_TAGS_FORMAT, GENRE_TAG_NAME, TEXT_GENRE_TAG_NAME);
             }
-            if (tagNames.contains(GENRE_TAG_NAME.toLowerCase()) && tagNames.contains(VIDEO_GENRE_TAG_NAME)) {
+            if (tags.containsName(GENRE_TAG_NAME) && tags.containsName(VIDEO_GENRE_TAG_NAME)) {
                 message = String.format(COLLIDING_TAGS_FORMAT, GENRE_TAG_NAME, TEXT_GENRE_TAG_NAME);
             }
-            if (tagNames.contains(NUMERIC_SIZE_TAG_NAME.toLowerCase()) && tagNames.contains(IMAGE_SIZE_TAG_NAME)) {
+            if (tags.containsName(NUMERIC_SIZE_TAG_NAME) && tags.containsName(IMAGE_SIZE_TAG_NAME)) {
                 message = String.format(COLLIDING_TAGS_FORMAT, NUMERIC_SIZE_TAG_NAME, IMAGE_SIZE_TAG_NAME);
             }
-            if (tagNames.contains(NUMERIC_LENGTH_TAG_NAME.toLowerCase()) && tagNames.contains(AUDIO_LENGTH_TAG_NAME)) {
+            if (tags.containsName(NUMERIC_LENGTH_TAG_NAME) && tags.containsName(AUDIO_LENGTH_TAG_NAME)) {
                 message = String.format(COLLIDING_TAGS_FORMAT, NUMERIC_LENGTH_TAG_NAME, AUDIO_LENGTH_TAG_NAME);
             }
-            if (tagNames.contains(NUMERIC_LENGTH_TAG_NAME.toLowerCase()) && tagNames.contains(VIDEO_LENGTH_TAG_NAME)) {
+            if (tags.containsName(NUMERIC_LENGTH_TAG_NAME) && tags.containsName(VIDEO_LENGTH_TAG_NAME)) {
                 message = String.format(COLLIDING_TAGS_FORMAT, NUMERIC_LENGTH_TAG_NAME, VIDEO_LENGTH_TAG_NAME);
             }
-            if (tagNames.contains(WORDS_TAG_NAME.toLowerCase()) && tagNames.contains(TEXT_LENGTH_TAG_NAME)) {
+            if (tags.containsName(WORDS_TAG_NAME) && tags.containsName(TEXT_LENGTH_TAG_NAME)) {
                 message = String.format(COLLIDING_TAGS_FORMAT, WORDS_TAG_NAME, TEXT_LENGTH_TAG_NAME);
             }
             if (!message.isEmpty()) {
@@ -2,18 +2,86 @@
 
 import edu.kit.uenqh.model.files.tags.Tag;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 
 /**
  * Represents a record containing files and associated tags.
  *
  * @author uenqh
  *
- * @param files the list of files in the record
- * @param tags  the set of unique tags associated with the files
- * @param id    the identifier of the record
+ * @param files       the list of files in the record
+ * @param tags        the set of unique tags associated with the files
+ * @param id          the identifier of the record
+ * @param source      the normalized absolute path of the catalog the record was originally loaded from, which
+ *                    identifies the record across sessions unlike its id
+ * @param fileIndices the map of file identifiers to the index of their file in the list of files
+ * @param tagsByName  the map of tag names to their distinct tags, in the iteration order of the set of tags
  */
-public record FileRecord(ArrayList<File> files, HashSet<Tag> tags, int id) {
+public record FileRecord(ArrayList<File> files, HashSet<Tag> tags, int id, String source,
+                         HashMap<String, Integer> fileIndices, HashMap<String, LinkedHashSet<Tag>> tagsByName) {
 
+    /**
+     * The index returned for identifiers of files that are not part of the record.
+     */
+    public static final int NO_FILE_INDEX = -1;
+
+    /**
+     * Constructs a new FileRecord, indexes its files by their identifiers and groups its tags by name.
+     *
+     * @param files  the list of files in the record
+     * @param tags   the set of unique tags associated with the files
+     * @param id     the identifier of the record
+     * @param source the path of the catalog the record was originally loaded from
+     */
+    public FileRecord(ArrayList<File> files, HashSet<Tag> tags, int id, Path source) {
+        this(files, tags, id, source.toAbsolutePath().normalize().toString(), new HashMap<>(), new HashMap<>());
+        for (int i = 0; i < files.size(); i++) {
+            this.fileIndices.put(files.get(i).getIdentifier(), i);
+        }
+        // ties between equal information gains follow the iteration order of the names, which put keeps stable
+        // while computeIfAbsent would reorder names sharing a bucket
+        for (Tag tag : tags) {
+            LinkedHashSet<Tag> tagsWithName = this.tagsByName.get(tag.getName());
+            if (tagsWithName == null) {
+                tagsWithName = new LinkedHashSet<>();
+                this.tagsByName.put(tag.getName(), tagsWithName);
+            }
+            tagsWithName.add(tag);
+        }
+    }
+
+    /**
+     * Constructs a new FileRecord with the unique tags of its files, indexes its files by their identifiers and
+     * groups its tags by name.
+     *
+     * @param files  the list of files in the record
+     * @param id     the identifier of the record
+     * @param source the path of the catalog the record was originally loaded from
+     */
+    public FileRecord(ArrayList<File> files, int id, Path source) {
+        this(files, createUniqueTagSet(files), id, source);
+    }
+
+    /**
+     * Retrieves the index of the file with the given identifier.
+     *
+     * @param identifier the identifier of the file
+     * @return the index of the file in the list of files, or {@link #NO_FILE_INDEX} if there is none
+     */
+    public int getFileIndex(String identifier) {
+        return this.fileIndices.getOrDefault(identifier, NO_FILE_INDEX);
+    }
+
+    private static HashSet<Tag> createUniqueTagSet(List<File> files) {
+        HashSet<Tag> tags = new HashSet<>();
+        for (File file : files) {
+            tags.addAll(file.getTags());
+        }
+        return tags;
+    }
 }
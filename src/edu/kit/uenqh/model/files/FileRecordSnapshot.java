@@ -0,0 +1,217 @@
+package edu.kit.uenqh.model.files;
+
+import edu.kit.uenqh.model.files.tags.Tag;
+import edu.kit.uenqh.model.files.tags.TagFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes file records to binary snapshots and restores them by mapping the snapshot into memory.
+ * A snapshot holds the files with their current access amounts and their converted tags, so restoring it neither
+ * parses nor converts anything again. It also holds the path the file record was originally read from, so that a
+ * restored record keeps the identity of its source. All strings other than the source and file identifiers and all
+ * tags are dictionary-encoded:
+ * <pre>
+ * int magic, int version, int length, UTF-8 source
+ * int stringCount, stringCount * (int length, UTF-8 bytes)
+ * int tagCount, tagCount * (int type, int name, int value)      // string ids
+ * int fileCount, fileCount * (int type, int length, UTF-8 identifier, int accessAmount, int tagCount, tag ids)
+ * </pre>
+ *
+ * @author uenqh
+ */
+public final class FileRecordSnapshot {
+    private static final int MAGIC = 0x53565352;
+    private static final int VERSION = 2;
+    private static final String INVALID_SNAPSHOT_MESSAGE = "invalid snapshot";
+    private static final String SNAPSHOT_TOO_LARGE_MESSAGE = "snapshot exceeds the maximum mappable size";
+    // the minimum number of bytes of each entry, which bounds the counts read from a snapshot
+    private static final int BYTE_ENTRY_BYTES = Byte.BYTES;
+    private static final int STRING_ENTRY_BYTES = Integer.BYTES;
+    private static final int TAG_ENTRY_BYTES = 3 * Integer.BYTES;
+    private static final int FILE_ENTRY_BYTES = 4 * Integer.BYTES;
+    private static final int TAG_ID_BYTES = Integer.BYTES;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private FileRecordSnapshot() {
+
+    }
+
+    /**
+     * Writes the files of a file record to a snapshot at the given path, replacing any existing file.
+     *
+     * @param fileRecord the file record to write
+     * @param path       the path of the snapshot
+     * @throws IOException if the snapshot cannot be written
+     */
+    public static void write(FileRecord fileRecord, Path path) throws IOException {
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        Map<TagKey, Integer> tagIds = new HashMap<>();
+        List<TagKey> tags = new ArrayList<>();
+        for (File file : fileRecord.files()) {
+            encode(file.getType(), stringIds, strings);
+            for (Tag tag : file.getTags()) {
+                TagKey key = new TagKey(encode(tag.getType(), stringIds, strings),
+                    encode(tag.getName(), stringIds, strings), encode(tag.getValue(), stringIds, strings));
+                if (!tagIds.containsKey(key)) {
+                    tagIds.put(key, tags.size());
+                    tags.add(key);
+                }
+            }
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            writeString(output, fileRecord.source());
+            output.writeInt(strings.size());
+            for (String string : strings) {
+                writeString(output, string);
+            }
+            output.writeInt(tags.size());
+            for (TagKey tag : tags) {
+                output.writeInt(tag.type());
+                output.writeInt(tag.name());
+                output.writeInt(tag.value());
+            }
+            output.writeInt(fileRecord.files().size());
+            for (File file : fileRecord.files()) {
+                output.writeInt(stringIds.get(file.getType()));
+                writeString(output, file.getIdentifier());
+                output.writeInt(file.getAccessAmount());
+                output.writeInt(file.getTags().size());
+                for (Tag tag : file.getTags()) {
+                    output.writeInt(tagIds.get(new TagKey(stringIds.get(tag.getType()), stringIds.get(tag.getName()),
+                        stringIds.get(tag.getValue()))));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the files of a snapshot at the given path and the path their file record was read from.
+     * Files sharing a tag in the snapshot share one tag instance.
+     *
+     * @param path the path of the snapshot
+     * @return the content of the snapshot
+     * @throws IOException if the snapshot cannot be read or is invalid
+     */
+    public static Content read(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException(SNAPSHOT_TOO_LARGE_MESSAGE);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException(INVALID_SNAPSHOT_MESSAGE);
+            }
+            String source = readString(buffer);
+            String[] strings = new String[readCount(buffer, STRING_ENTRY_BYTES)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(buffer);
+            }
+            Tag[] tags = new Tag[readCount(buffer, TAG_ENTRY_BYTES)];
+            for (int i = 0; i < tags.length; i++) {
+                tags[i] = TagFactory.createTag(strings[buffer.getInt()], strings[buffer.getInt()],
+                    strings[buffer.getInt()]);
+                if (tags[i] == null) {
+                    throw new IOException(INVALID_SNAPSHOT_MESSAGE);
+                }
+            }
+            int fileCount = readCount(buffer, FILE_ENTRY_BYTES);
+            ArrayList<File> files = new ArrayList<>(fileCount);
+            for (int i = 0; i < fileCount; i++) {
+                String type = strings[buffer.getInt()];
+                File file = FileFactory.createFile(type, readString(buffer), buffer.getInt());
+                int tagCount = readCount(buffer, TAG_ID_BYTES);
+                file.getTags().ensureCapacity(tagCount);
+                for (int j = 0; j < tagCount; j++) {
+                    file.getTags().add(tags[buffer.getInt()]);
+                }
+                files.add(file);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException(INVALID_SNAPSHOT_MESSAGE);
+            }
+            return new Content(source, files);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                 | IllegalArgumentException | InvalidFileTypeException e) {
+            throw new IOException(INVALID_SNAPSHOT_MESSAGE, e);
+        }
+    }
+
+    private static int encode(String string, Map<String, Integer> stringIds, List<String> strings) {
+        Integer id = stringIds.get(string);
+        if (id == null) {
+            id = strings.size();
+            stringIds.put(string, id);
+            strings.add(string);
+        }
+        return id;
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads a count of entries and rejects it if it is negative or if the rest of the snapshot is too short to hold
+     * that many entries, so that no array is allocated for a corrupted count.
+     */
+    private static int readCount(ByteBuffer buffer, int entryBytes) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / entryBytes) {
+            throw new IOException(INVALID_SNAPSHOT_MESSAGE);
+        }
+        return count;
+    }
+
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = readCount(buffer, BYTE_ENTRY_BYTES);
+        String string = StandardCharsets.UTF_8.decode(buffer.slice(buffer.position(), length)).toString();
+        buffer.position(buffer.position() + length);
+        return string;
+    }
+
+    /**
+     * Represents the content of a snapshot.
+     *
+     * @param source the normalized absolute path the file record of the snapshot was read from
+     * @param files  the files of the snapshot, in the order they were written
+     */
+    public record Content(String source, ArrayList<File> files) {
+
+    }
+
+    /**
+     * Represents a dictionary-encoded tag.
+     *
+     * @param type  the string id of the type of the tag
+     * @param name  the string id of the name of the tag
+     * @param value the string id of the value of the tag
+     */
+    private record TagKey(int type, int name, int value) {
+
+    }
+}
@@ -0,0 +1,212 @@
+package edu.kit.uenqh.model.files;
+
+import edu.kit.uenqh.model.files.tags.Tag;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Represents the tags of a file as a list, which additionally indexes the tags by their names.
+ * The tags are kept in an array and the index is a small open-addressing table of positions in that array, so looking
+ * up a tag by name takes constant time without creating an entry object per tag.
+ * If several tags have the same name, the index refers to the first of them.
+ *
+ * @author uenqh
+ */
+public class FileTags extends AbstractList<Tag> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 4;
+    private static final int EMPTY_SLOT = -1;
+    private static final int NOT_FOUND = -1;
+
+    private Tag[] tags;
+    private int size;
+    private int[] slots;
+    private boolean duplicateNames;
+
+    /**
+     * Constructs a new empty FileTags.
+     */
+    public FileTags() {
+        this.tags = new Tag[DEFAULT_CAPACITY];
+        this.slots = createSlots(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Retrieves the tag at the given position.
+     *
+     * @param index the position of the tag
+     * @return the tag at the position
+     */
+    @Override
+    public Tag get(int index) {
+        checkIndex(index);
+        return this.tags[index];
+    }
+
+    /**
+     * Retrieves the number of tags.
+     *
+     * @return the number of tags
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Replaces the tag at the given position.
+     *
+     * @param index the position of the tag
+     * @param tag   the new tag
+     * @return the replaced tag
+     */
+    @Override
+    public Tag set(int index, Tag tag) {
+        checkIndex(index);
+        Tag old = this.tags[index];
+        this.tags[index] = tag;
+        if (!old.getName().equals(tag.getName())) {
+            rebuildSlots();
+        }
+        return old;
+    }
+
+    /**
+     * Inserts a tag at the given position.
+     *
+     * @param index the position to insert the tag at
+     * @param tag   the tag to insert
+     */
+    @Override
+    public void add(int index, Tag tag) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        ensureCapacity(this.size + 1);
+        System.arraycopy(this.tags, index, this.tags, index + 1, this.size - index);
+        this.tags[index] = tag;
+        this.size++;
+        this.modCount++;
+        if (index == this.size - 1) {
+            insertSlot(index);
+        } else {
+            rebuildSlots();
+        }
+    }
+
+    /**
+     * Removes the tag at the given position.
+     *
+     * @param index the position of the tag
+     * @return the removed tag
+     */
+    @Override
+    public Tag remove(int index) {
+        checkIndex(index);
+        Tag old = this.tags[index];
+        System.arraycopy(this.tags, index + 1, this.tags, index, this.size - index - 1);
+        this.tags[--this.size] = null;
+        this.modCount++;
+        rebuildSlots();
+        return old;
+    }
+
+    /**
+     * Increases the capacity, if necessary, to hold at least the given number of tags without growing again.
+     *
+     * @param capacity the number of tags to hold
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= this.tags.length) {
+            return;
+        }
+        this.tags = Arrays.copyOf(this.tags, Math.max(capacity, this.tags.length * 2));
+        rebuildSlots();
+    }
+
+    /**
+     * Retrieves the position of the first tag with the given name.
+     *
+     * @param name the name of the tag
+     * @return the position of the tag, or -1 if there is no tag with the name
+     */
+    public int indexOfName(String name) {
+        int mask = this.slots.length - 1;
+        for (int slot = spread(name.hashCode()) & mask; this.slots[slot] != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            if (this.tags[this.slots[slot]].getName().equals(name)) {
+                return this.slots[slot];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Retrieves the first tag with the given name.
+     *
+     * @param name the name of the tag
+     * @return the tag, or null if there is no tag with the name
+     */
+    public Tag getByName(String name) {
+        int index = indexOfName(name);
+        return index == NOT_FOUND ? null : this.tags[index];
+    }
+
+    /**
+     * Checks whether there is a tag with the given name.
+     *
+     * @param name the name of the tag
+     * @return true if there is a tag with the name
+     */
+    public boolean containsName(String name) {
+        return indexOfName(name) != NOT_FOUND;
+    }
+
+    /**
+     * Checks whether several tags have the same name.
+     *
+     * @return true if at least two tags have the same name
+     */
+    public boolean hasDuplicateNames() {
+        return this.duplicateNames;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+    }
+
+    private void insertSlot(int index) {
+        int mask = this.slots.length - 1;
+        String name = this.tags[index].getName();
+        int slot = spread(name.hashCode()) & mask;
+        while (this.slots[slot] != EMPTY_SLOT) {
+            if (this.tags[this.slots[slot]].getName().equals(name)) {
+                this.duplicateNames = true;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        this.slots[slot] = index;
+    }
+
+    private void rebuildSlots() {
+        this.slots = createSlots(this.tags.length);
+        this.duplicateNames = false;
+        for (int i = 0; i < this.size; i++) {
+            insertSlot(i);
+        }
+    }
+
+    private static int[] createSlots(int capacity) {
+        // at most half of the slots are used, so that probe sequences stay short
+        int[] slots = new int[Integer.highestOneBit(capacity * 2 - 1) * 2];
+        Arrays.fill(slots, EMPTY_SLOT);
+        return slots;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
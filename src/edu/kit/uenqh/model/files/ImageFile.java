@@ -44,4 +44,14 @@ public static String imageSizeConverter(int size) {
         }
         return ILLEGAL_SIZE;
     }
+
+    /**
+     * Retrieves the type of an image file.
+     *
+     * @return the type of an image file
+     */
+    @Override
+    public String getType() {
+        return FileConstants.IMAGE_FILE_NAME;
+    }
 }
@@ -16,4 +16,14 @@ public class ProgramFile extends File {
     public ProgramFile(String identifier, int accessAmount) {
         super(identifier, accessAmount);
     }
+
+    /**
+     * Retrieves the type of a program file.
+     *
+     * @return the type of a program file
+     */
+    @Override
+    public String getType() {
+        return FileConstants.PROGRAM_FILE_NAME;
+    }
 }
@@ -41,4 +41,13 @@ public static String textLengthConverter(int length) {
         return ILLEGAL_LENGTH;
     }
 
+    /**
+     * Retrieves the type of a text file.
+     *
+     * @return the type of a text file
+     */
+    @Override
+    public String getType() {
+        return FileConstants.TEXT_FILE_NAME;
+    }
 }
@@ -44,4 +44,14 @@ public static String videoLengthConverter(int length) {
         }
         return ILLEGAL_LENGTH;
     }
+
+    /**
+     * Retrieves the type of a video file.
+     *
+     * @return the type of a video file
+     */
+    @Override
+    public String getType() {
+        return FileConstants.VIDEO_FILE_NAME;
+    }
 }
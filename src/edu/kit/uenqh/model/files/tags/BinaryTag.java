@@ -1,6 +1,6 @@
 package edu.kit.uenqh.model.files.tags;
 
-import java.util.Objects;
+import edu.kit.uenqh.model.files.FileConstants;
 
 /**
  * Represents a binary tag.
@@ -34,30 +34,33 @@ public String getValue() {
     }
 
     /**
-     * Indicates whether some other object is "equal to" this one.
+     * Retrieves the type of a binary tag.
      *
-     * @param o the reference object with which to compare
-     * @return {@code true} if this object is the same as the obj argument; {@code false} otherwise
+     * @return the type of a binary tag
      */
     @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-        BinaryTag tag = (BinaryTag) o;
-        return this.hashCode() == tag.hashCode();
+    public String getType() {
+        return FileConstants.BINARY_TAG_NAME;
     }
 
     /**
-     * Returns a hash code value for the object.
+     * Checks whether the given binary tag has the same value as this binary tag.
      *
-     * @return a hash code value for this object
+     * @param tag the binary tag to compare with
+     * @return true if both tags have the same value
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(this.label, this.getName());
+    protected boolean hasSameValue(Tag tag) {
+        return this.label == ((BinaryTag) tag).label;
+    }
+
+    /**
+     * Calculates the hash code of the value of the binary tag.
+     *
+     * @return the hash code of the value
+     */
+    @Override
+    protected int valueHashCode() {
+        return this.label.hashCode();
     }
 }
@@ -1,6 +1,6 @@
 package edu.kit.uenqh.model.files.tags;
 
-import java.util.Objects;
+import edu.kit.uenqh.model.files.FileConstants;
 
 /**
  * Represents a multi value tag.
@@ -33,30 +33,33 @@ public String getValue() {
     }
 
     /**
-     * Indicates whether some other object is "equal to" this one.
+     * Retrieves the type of a multi value tag.
      *
-     * @param o the reference object with which to compare
-     * @return {@code true} if this object is the same as the obj argument; {@code false} otherwise
+     * @return the type of a multi value tag
      */
     @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-        MultiValueTag tag = (MultiValueTag) o;
-        return this.hashCode() == tag.hashCode();
+    public String getType() {
+        return FileConstants.MULTI_VALUE_TAG_NAME;
     }
 
     /**
-     * Returns a hash code value for the object.
+     * Checks whether the given multi value tag has the same value as this multi value tag.
      *
-     * @return a hash code value for this object
+     * @param tag the multi value tag to compare with
+     * @return true if both tags have the same value
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(this.value, this.getName());
+    protected boolean hasSameValue(Tag tag) {
+        return this.value.equals(((MultiValueTag) tag).value);
+    }
+
+    /**
+     * Calculates the hash code of the value of the multi value tag.
+     *
+     * @return the hash code of the value
+     */
+    @Override
+    protected int valueHashCode() {
+        return this.value.hashCode();
     }
 }
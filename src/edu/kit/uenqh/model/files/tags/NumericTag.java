@@ -1,6 +1,6 @@
 package edu.kit.uenqh.model.files.tags;
 
-import java.util.Objects;
+import edu.kit.uenqh.model.files.FileConstants;
 
 /**
  * Represents a numeric tag associated with a file.
@@ -32,30 +32,33 @@ public String getValue() {
     }
 
     /**
-     * Indicates whether some other object is "equal to" this one.
+     * Retrieves the type of a numeric tag.
      *
-     * @param o The reference object with which to compare.
-     * @return True if this object is the same as the o argument; false otherwise.
+     * @return the type of a numeric tag
      */
     @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-        NumericTag tag = (NumericTag) o;
-        return this.hashCode() == tag.hashCode();
+    public String getType() {
+        return FileConstants.NUMERIC_TAG_NAME;
     }
 
     /**
-     * Returns a hash code value for the object.
+     * Checks whether the given numeric tag has the same value as this numeric tag.
      *
-     * @return A hash code value for this object.
+     * @param tag the numeric tag to compare with
+     * @return true if both tags have the same value
      */
     @Override
-    public int hashCode() {
-        return Objects.hash(this.numericValue, this.getName());
+    protected boolean hasSameValue(Tag tag) {
+        return this.numericValue == ((NumericTag) tag).numericValue;
+    }
+
+    /**
+     * Calculates the hash code of the value of the numeric tag.
+     *
+     * @return the hash code of the value
+     */
+    @Override
+    protected int valueHashCode() {
+        return Integer.hashCode(this.numericValue);
     }
 }
@@ -2,11 +2,16 @@
 
 /**
  * Represents a generic tag associated with a file.
+ * Two tags are equal if they have the same type, name and value. As the {@link TagFactory} interns tags, equal tags
+ * usually are the same instance and are recognised by reference.
  *
  * @author uenqh
  */
 public abstract class Tag {
+    private static final int HASH_MULTIPLIER = 31;
+
     private String name;
+    private int hash;
 
     /**
      * Constructs a new tag with the specified name.
@@ -27,12 +32,14 @@ public String getName() {
     }
 
     /**
-     * Sets the name of the tag.
+     * Sets the name of the tag. Tags created by the {@link TagFactory} are shared between files and must not be
+     * renamed; a tag with another name is created instead.
      *
      * @param name The new name of the tag.
      */
     public void setName(String name) {
         this.name = name;
+        this.hash = 0;
     }
 
     /**
@@ -41,4 +48,61 @@ public void setName(String name) {
      * @return The value of the tag.
      */
     public abstract String getValue();
+
+    /**
+     * Retrieves the type of the tag, as used by the {@link TagFactory}.
+     *
+     * @return The type of the tag.
+     */
+    public abstract String getType();
+
+    /**
+     * Compares the tag to the given object by type, name and value.
+     *
+     * @param o The object to compare with.
+     * @return True if the object is a tag equal to this one.
+     */
+    @Override
+    public final boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Tag tag = (Tag) o;
+        return hashCode() == tag.hashCode() && this.name.equals(tag.name) && hasSameValue(tag);
+    }
+
+    /**
+     * Retrieves the hash code of the tag, which is calculated from its value and name once and cached until the
+     * tag is renamed.
+     *
+     * @return The hash code of the tag.
+     */
+    @Override
+    public final int hashCode() {
+        int result = this.hash;
+        if (result == 0) {
+            // equals Objects.hash(value, name) without boxing the value
+            result = HASH_MULTIPLIER * (HASH_MULTIPLIER + valueHashCode()) + this.name.hashCode();
+            this.hash = result;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the given tag of the same class has the same value as this tag.
+     *
+     * @param tag The tag to compare with, which has the same class as this tag.
+     * @return True if both tags have the same value.
+     */
+    protected abstract boolean hasSameValue(Tag tag);
+
+    /**
+     * Calculates the hash code of the value of the tag.
+     *
+     * @return The hash code of the value.
+     */
+    protected abstract int valueHashCode();
 }
@@ -1,5 +1,7 @@
 package edu.kit.uenqh.model.files.tags;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static edu.kit.uenqh.model.files.FileConstants.BINARY_TAG_NAME;
 import static edu.kit.uenqh.model.files.FileConstants.MULTI_VALUE_TAG_NAME;
@@ -7,10 +9,12 @@
 
 /**
  * A factory class for creating different types of tags.
+ * Tags are interned, so that all equal tags share one instance and can be compared by reference.
  *
  * @author uenqh
  */
 public final class TagFactory {
+    private static final Map<Tag, Tag> TAGS = new ConcurrentHashMap<>();
 
     /**
      * Private constructor to prevent instantiation.
@@ -25,14 +29,20 @@ private TagFactory() {
      * @param tagType The type of the tag.
      * @param name    The name of the tag.
      * @param value   The value of the tag.
-     * @return The created tag.
+     * @return The canonical instance of the tag, or null if the tag type is unknown.
      */
     public static Tag createTag(String tagType, String name, String value) {
-        return switch (tagType) {
+        Tag tag = switch (tagType) {
             case BINARY_TAG_NAME -> new BinaryTag(name, BinaryTagType.valueOf(value.toUpperCase()));
             case MULTI_VALUE_TAG_NAME -> new MultiValueTag(name, value);
             case NUMERIC_TAG_NAME -> new NumericTag(name, Integer.parseInt(value));
             default -> null;
         };
+        if (tag == null) {
+            return null;
+        }
+        // tags are compared by their parsed value, so that e.g. numeric values with leading zeros share one instance
+        Tag canonical = TAGS.putIfAbsent(tag, tag);
+        return canonical == null ? tag : canonical;
     }
 }
@@ -0,0 +1,162 @@
+package edu.kit.uenqh.userinput;
+
+import edu.kit.uenqh.model.SortingSystem;
+import edu.kit.uenqh.model.files.FileRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static edu.kit.uenqh.userinput.CommandConstants.EMPTY_FILE_RECORD_MESSAGE;
+import static edu.kit.uenqh.userinput.CommandConstants.UNLOGGED_CHANGE_MESSAGE;
+
+/**
+ * Represents a command to change the access amounts of many files at once.
+ * The changes are read from the file at the given path, or from the following input lines up to a line {@code end}
+ * if no path is given. Each line holds one change in the format of the change command, {@code <id> <file> <number>}.
+ * All changes are checked before the first one is applied, so either all or none of them are applied.
+ * Implements the {@link Command} interface.
+ *
+ * @author uenqh
+ */
+public class BatchChangeCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 0;
+    private static final int MAX_NUMBER_OF_ARGUMENTS = 1;
+    private static final int PATH_INDEX = 0;
+    private static final int ID_INDEX = 0;
+    private static final int FILE_IDENTIFIER_INDEX = 1;
+    private static final int TOTAL_ACCESS_AMOUNT_INDEX = 2;
+    private static final String BLOCK_TERMINATOR = "end";
+    private static final String CHANGE_SEPARATOR_REGEX = " ";
+
+    // return messages
+    private static final String FILE_DOES_NOT_EXIST_FORMAT = "there is no file at '%s'";
+    private static final String UNREADABLE_FILE_FORMAT = "the file at '%s' could not be read!";
+    private static final String INVALID_LINE_FORMAT = "line %s: %s";
+    private static final String SUCCESSFUL_BATCH_FORMAT = "Changed %s access amounts";
+
+    /**
+     * Executes the command to change the access amounts of many files.
+     *
+     * @param model            the sorting system model
+     * @param commandArguments the arguments provided with the command, where commandArguments[0] is the optional path
+     *                         of the file containing the changes
+     * @return the result of executing the command
+     */
+    @Override
+    public CommandResult execute(SortingSystem model, String[] commandArguments) {
+        List<Change> changes = new ArrayList<>();
+        CommandResult invalidChange;
+        if (commandArguments.length == NUMBER_OF_ARGUMENTS) {
+            invalidChange = readBlock(model, changes);
+        } else {
+            invalidChange = readFile(model, commandArguments[PATH_INDEX], changes);
+        }
+        if (invalidChange != null) {
+            return invalidChange;
+        }
+
+        // all changes are logged with a single commit
+        for (Change change : changes) {
+            model.logAccessAmount(change.fileRecord(), change.index(), change.accessAmount());
+        }
+        try {
+            model.commitChanges();
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, UNLOGGED_CHANGE_MESSAGE);
+        }
+        for (Change change : changes) {
+            model.changeAccessAmount(change.fileRecord(), change.index(), change.accessAmount());
+        }
+        return new CommandResult(CommandResultType.SUCCESS, SUCCESSFUL_BATCH_FORMAT.formatted(changes.size()));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return the number of arguments required for the command
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+
+    /**
+     * Retrieves the maximum number of arguments, which includes the optional path.
+     *
+     * @return the maximum number of arguments
+     */
+    @Override
+    public int getMaxNumberOfArguments() {
+        return MAX_NUMBER_OF_ARGUMENTS;
+    }
+
+    private CommandResult readBlock(SortingSystem model, List<Change> changes) {
+        // the block is read completely, so that none of its lines is executed as a command
+        List<String> lines = model.getCommandHandler().readBlock(BLOCK_TERMINATOR);
+        for (int i = 0; i < lines.size(); i++) {
+            CommandResult invalidChange = addChange(model, lines.get(i), i + 1, changes);
+            if (invalidChange != null) {
+                return invalidChange;
+            }
+        }
+        return null;
+    }
+
+    private CommandResult readFile(SortingSystem model, String path, List<Change> changes) {
+        Path file = Paths.get(path);
+        if (!Files.isRegularFile(file)) {
+            return new CommandResult(CommandResultType.FAILURE, FILE_DOES_NOT_EXIST_FORMAT.formatted(path));
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            int lineNumber = 0;
+            String line = reader.readLine();
+            while (line != null) {
+                lineNumber++;
+                CommandResult invalidChange = addChange(model, line, lineNumber, changes);
+                if (invalidChange != null) {
+                    return invalidChange;
+                }
+                line = reader.readLine();
+            }
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, UNREADABLE_FILE_FORMAT.formatted(path));
+        }
+        return null;
+    }
+
+    private CommandResult addChange(SortingSystem model, String line, int lineNumber, List<Change> changes) {
+        if (line.isBlank()) {
+            return null;
+        }
+        if (model.getFileRecords().isEmpty()) {
+            return new CommandResult(CommandResultType.FAILURE, EMPTY_FILE_RECORD_MESSAGE);
+        }
+        String[] changeArguments = line.trim().split(CHANGE_SEPARATOR_REGEX);
+        CommandResult invalidArguments = ChangeCommand.checkArguments(model, changeArguments);
+        if (invalidArguments != null) {
+            return new CommandResult(CommandResultType.FAILURE,
+                INVALID_LINE_FORMAT.formatted(lineNumber, invalidArguments.getMessage()));
+        }
+        FileRecord fileRecord = model.getFileRecordById(Integer.parseInt(changeArguments[ID_INDEX]));
+        int index = fileRecord.getFileIndex(changeArguments[FILE_IDENTIFIER_INDEX]);
+        changes.add(new Change(fileRecord, index, Integer.parseInt(changeArguments[TOTAL_ACCESS_AMOUNT_INDEX])));
+        return null;
+    }
+
+    /**
+     * Represents a checked change of the access amount of a file.
+     *
+     * @param fileRecord   the file record containing the file
+     * @param index        the index of the file in the file record
+     * @param accessAmount the new access amount
+     */
+    private record Change(FileRecord fileRecord, int index, int accessAmount) {
+
+    }
+}
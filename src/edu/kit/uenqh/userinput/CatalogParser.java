@@ -0,0 +1,423 @@
+package edu.kit.uenqh.userinput;
+
+import edu.kit.uenqh.model.files.File;
+import edu.kit.uenqh.model.files.FileFactory;
+import edu.kit.uenqh.model.files.FileHandler;
+import edu.kit.uenqh.model.files.InvalidFileTypeException;
+import edu.kit.uenqh.model.files.tags.BinaryTagType;
+import edu.kit.uenqh.model.files.tags.Tag;
+import edu.kit.uenqh.model.files.tags.TagFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static edu.kit.uenqh.model.files.FileConstants.BINARY_TAG_NAME;
+import static edu.kit.uenqh.model.files.FileConstants.MULTI_VALUE_TAG_NAME;
+import static edu.kit.uenqh.model.files.FileConstants.NUMERIC_TAG_NAME;
+import static edu.kit.uenqh.model.files.FileConstants.PROGRAM_FILE_NAME;
+import static edu.kit.uenqh.userinput.CommandConstants.MIN_ACCESS_AMOUNT;
+
+/**
+ * Parses and validates the entries of a loaded file line by line.
+ * Every line is tokenized exactly once and all checks are applied incrementally, so a file only has to be read once.
+ * Lines are scanned as UTF-8 encoded bytes, only identifiers, file types, tag names and tag values are decoded.
+ * If several checks fail, the error of the check that comes first in the order below is reported,
+ * and within one check the error of the first offending line.
+ * Consecutive sections of a file can be parsed by separate parsers sharing their identifier and tag type lookups
+ * and then be combined using {@link #append(CatalogParser)}.
+ *
+ * @author uenqh
+ */
+public class CatalogParser {
+    // Checks ordered by the priority of their error messages
+    private static final int FORMAT_CHECK = 0;
+    private static final int ACCESS_AMOUNT_CHECK = 1;
+    private static final int TAG_NAME_CHECK = 2;
+    private static final int TAG_CREATION_CHECK = 3;
+    private static final int TAG_TYPE_CHECK = 4;
+    private static final int IDENTIFIER_CHARACTER_CHECK = 5;
+    private static final int UNIQUE_IDENTIFIER_CHECK = 6;
+    private static final int FILE_TYPE_CHECK = 7;
+    private static final int UNIQUE_TAG_PER_FILE_CHECK = 8;
+    private static final int COLLIDING_TAGS_CHECK = 9;
+    private static final int NO_ERROR = Integer.MAX_VALUE;
+
+    private static final byte ENTRY_SEPARATOR = ',';
+    private static final byte MULTI_VALUE_TAG_SPLIT_SYMBOL = '=';
+    private static final byte ILLEGAL_IDENTIFIER_CHARACTER = ' ';
+    private static final byte MAX_WHITESPACE_CHARACTER = ' ';
+    private static final byte PLUS_SIGN = '+';
+    private static final byte MINUS_SIGN = '-';
+    private static final int UNIQUE_FILE_IDENTIFIER_INDEX = 0;
+    private static final int FILE_TYPE_INDEX = 1;
+    private static final int FILE_ACCESS_AMOUNT_INDEX = 2;
+    private static final int TAG_START_INDEX = 3;
+    private static final int MIN_ENTRY_ARRAY_LENGTH = 3;
+    private static final int INITIAL_FIELD_CAPACITY = 8;
+    private static final int INITIAL_DECODE_CAPACITY = 64;
+    private static final int RADIX = 10;
+    private static final long INVALID_NUMBER = Long.MIN_VALUE;
+    private static final String EXECUTABLE_TAG_NAME = "executable";
+
+    private static final String INVALID_FILE_FORMAT_MESSAGE = "entries within the loaded file are not formatted correctly!";
+    private static final String NOT_UNIQUE_FILE_IDENTIFIER_MESSAGE = "the loaded file contains reoccurring file identifiers!";
+    private static final String NOT_UNIQUE_TAG_NAMES_MESSAGE = "the loaded file contains reoccurring tags!";
+    private static final String MULTIPLE_TAG_ASSIGNMENT_MESSAGE = "you cannot assign the same tag multiple times to the same file!";
+    private static final String IDENTIFIER_CONTAINS_ILLEGAL_CHARACTER_MESSAGE = "the loaded file contains illegal characters!";
+    private static final String INVALID_ACCESS_AMOUNT_FORMAT = "the loaded file contains an invalid access amount of %s in line %s!";
+    private static final String ILLEGAL_TAG_NAME_FORMAT = "the entered tag (%s) name contains illegal characters!";
+    private static final String INVALID_TAG_TYPE_MESSAGE = "the entered tag contains an invalid tag type!";
+
+    private final ArrayList<File> files;
+    private final Set<String> fileIdentifiers;
+    private final Map<String, Class<? extends Tag>> tagTypes;
+    private int[] fieldStarts;
+    private int[] fieldEnds;
+    private byte[] decodeBuffer;
+    private int lineCount;
+    private int errorCheck;
+    private String errorMessage;
+    private long invalidAccessAmount;
+    private int invalidAccessAmountLine;
+
+    /**
+     * Constructs a new CatalogParser without any parsed entries.
+     */
+    public CatalogParser() {
+        this(new HashSet<>(), new HashMap<>());
+    }
+
+    /**
+     * Constructs a new CatalogParser that checks identifiers and tag types against the given lookups.
+     * Parsers of different sections of the same file share these lookups, which then must be thread-safe
+     * if the sections are parsed concurrently.
+     *
+     * @param fileIdentifiers the identifiers of all files parsed so far
+     * @param tagTypes        the type of each tag name parsed so far
+     */
+    public CatalogParser(Set<String> fileIdentifiers, Map<String, Class<? extends Tag>> tagTypes) {
+        this.files = new ArrayList<>();
+        this.fileIdentifiers = fileIdentifiers;
+        this.tagTypes = tagTypes;
+        this.fieldStarts = new int[INITIAL_FIELD_CAPACITY];
+        this.fieldEnds = new int[INITIAL_FIELD_CAPACITY];
+        this.decodeBuffer = new byte[INITIAL_DECODE_CAPACITY];
+        this.errorCheck = NO_ERROR;
+    }
+
+    /**
+     * Parses and validates the next line of the loaded file.
+     *
+     * @param buffer the buffer containing the UTF-8 encoded line
+     * @param start  the index of the first byte of the line
+     * @param end    the index after the last byte of the line, excluding its line terminator
+     * @return true if further lines can still change the result; false if the result is already final
+     */
+    public boolean parseLine(ByteBuffer buffer, int start, int end) {
+        this.lineCount++;
+        int fieldCount = tokenize(buffer, start, end);
+        // Format check
+        if (fieldCount < MIN_ENTRY_ARRAY_LENGTH) {
+            reportError(FORMAT_CHECK, INVALID_FILE_FORMAT_MESSAGE);
+            return false;
+        }
+        long accessAmount = parseNumber(buffer, this.fieldStarts[FILE_ACCESS_AMOUNT_INDEX],
+            this.fieldEnds[FILE_ACCESS_AMOUNT_INDEX]);
+        if (accessAmount == INVALID_NUMBER) {
+            reportError(FORMAT_CHECK, INVALID_FILE_FORMAT_MESSAGE);
+            return false;
+        }
+        if (accessAmount < MIN_ACCESS_AMOUNT && isRelevant(ACCESS_AMOUNT_CHECK)) {
+            // the message is formatted later, as the line number changes when sections are appended
+            reportError(ACCESS_AMOUNT_CHECK, null);
+            this.invalidAccessAmount = accessAmount;
+            this.invalidAccessAmountLine = this.lineCount;
+        }
+        // Tag checks
+        List<Tag> tags = new ArrayList<>(fieldCount - TAG_START_INDEX);
+        for (int i = TAG_START_INDEX; i < fieldCount; i++) {
+            Tag tag = parseTag(buffer, this.fieldStarts[i], this.fieldEnds[i]);
+            if (tag != null) {
+                tags.add(tag);
+            }
+        }
+        // File identifier checks
+        int identifierStart = skipWhitespace(buffer, this.fieldStarts[UNIQUE_FILE_IDENTIFIER_INDEX],
+            this.fieldEnds[UNIQUE_FILE_IDENTIFIER_INDEX]);
+        int identifierEnd = this.fieldEnds[UNIQUE_FILE_IDENTIFIER_INDEX];
+        if (indexOf(buffer, ILLEGAL_IDENTIFIER_CHARACTER, identifierStart, identifierEnd) < identifierEnd) {
+            reportError(IDENTIFIER_CHARACTER_CHECK, IDENTIFIER_CONTAINS_ILLEGAL_CHARACTER_MESSAGE);
+        }
+        if (!isRelevant(UNIQUE_IDENTIFIER_CHECK)) {
+            return true;
+        }
+        String identifier = decode(buffer, identifierStart, identifierEnd);
+        if (!this.fileIdentifiers.add(identifier)) {
+            reportError(UNIQUE_IDENTIFIER_CHECK, NOT_UNIQUE_FILE_IDENTIFIER_MESSAGE);
+        }
+        // File checks
+        if (isRelevant(FILE_TYPE_CHECK)) {
+            String fileType = decode(buffer, this.fieldStarts[FILE_TYPE_INDEX], this.fieldEnds[FILE_TYPE_INDEX]);
+            createFile(fileType, identifier, (int) accessAmount, tags);
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the number of parsed lines.
+     *
+     * @return the number of parsed lines
+     */
+    public int getLineCount() {
+        return this.lineCount;
+    }
+
+    /**
+     * Retrieves the error message of the highest priority check that failed.
+     *
+     * @return the error message, or null if all parsed lines are valid
+     */
+    public String getErrorMessage() {
+        if (this.errorCheck == ACCESS_AMOUNT_CHECK) {
+            return String.format(INVALID_ACCESS_AMOUNT_FORMAT, this.invalidAccessAmount, this.invalidAccessAmountLine);
+        }
+        return this.errorMessage;
+    }
+
+    /**
+     * Appends the result of a parser for the section directly following this parser's section.
+     * The created files are appended and the error of the appended section is kept,
+     * if its check comes first or if this section has no error yet.
+     *
+     * @param next the parser of the following section
+     */
+    public void append(CatalogParser next) {
+        if (next.errorCheck < this.errorCheck) {
+            this.errorCheck = next.errorCheck;
+            this.errorMessage = next.errorMessage;
+            this.invalidAccessAmount = next.invalidAccessAmount;
+            this.invalidAccessAmountLine = this.lineCount + next.invalidAccessAmountLine;
+        }
+        this.files.addAll(next.files);
+        this.lineCount += next.lineCount;
+    }
+
+    /**
+     * Retrieves the files created from the parsed lines.
+     *
+     * @return the created files in the order of their lines
+     */
+    public ArrayList<File> getFiles() {
+        return this.files;
+    }
+
+    private Tag parseTag(ByteBuffer buffer, int start, int end) {
+        int separator = indexOf(buffer, MULTI_VALUE_TAG_SPLIT_SYMBOL, start, end);
+        boolean hasValue = separator < end;
+        if (!isLegalTagName(buffer, start, separator)) {
+            reportError(TAG_NAME_CHECK, String.format(ILLEGAL_TAG_NAME_FORMAT, decode(buffer, start, separator)));
+            return null;
+        }
+        if (!isRelevant(TAG_CREATION_CHECK)) {
+            return null;
+        }
+        Tag tag;
+        String name = decode(buffer, start, separator).toLowerCase();
+        if (hasValue) {
+            int valueStart = separator + 1;
+            int valueEnd = findTagValueEnd(buffer, valueStart, skipTrailingWhitespace(buffer, valueStart, end));
+            if (valueEnd < valueStart) {
+                reportError(TAG_CREATION_CHECK, INVALID_TAG_TYPE_MESSAGE);
+                return null;
+            }
+            String value = decode(buffer, valueStart, valueEnd);
+            if (parseNumber(buffer, valueStart, valueEnd) != INVALID_NUMBER) {
+                tag = TagFactory.createTag(NUMERIC_TAG_NAME, name, value);
+            } else {
+                tag = TagFactory.createTag(MULTI_VALUE_TAG_NAME, name, value);
+            }
+        } else {
+            tag = TagFactory.createTag(BINARY_TAG_NAME, name, String.valueOf(BinaryTagType.DEFINED));
+        }
+        if (tag == null) {
+            reportError(TAG_CREATION_CHECK, INVALID_TAG_TYPE_MESSAGE);
+            return null;
+        }
+        Class<? extends Tag> knownType = this.tagTypes.putIfAbsent(tag.getName(), tag.getClass());
+        if (knownType != null && !knownType.equals(tag.getClass())) {
+            reportError(TAG_TYPE_CHECK, MULTIPLE_TAG_ASSIGNMENT_MESSAGE);
+        }
+        return tag;
+    }
+
+    private boolean isLegalTagName(ByteBuffer buffer, int start, int end) {
+        // equivalent to matching TAG_REGEX
+        if (start == end || !isLetter(buffer.get(start))) {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            byte character = buffer.get(i);
+            if (!isLetter(character) && (character < '0' || character > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isLetter(byte character) {
+        return character >= 'a' && character <= 'z' || character >= 'A' && character <= 'Z';
+    }
+
+    private int findTagValueEnd(ByteBuffer buffer, int start, int end) {
+        // the value ends at a further split symbol and is missing if only empty segments follow the name
+        int separator = indexOf(buffer, MULTI_VALUE_TAG_SPLIT_SYMBOL, start, end);
+        int index = separator;
+        while (index < end && buffer.get(index) == MULTI_VALUE_TAG_SPLIT_SYMBOL) {
+            index++;
+        }
+        if (separator == start && index == end) {
+            return start - 1;
+        }
+        return separator;
+    }
+
+    private long parseNumber(ByteBuffer buffer, int start, int end) {
+        // equivalent to Integer.parseInt, returns INVALID_NUMBER instead of throwing
+        int index = start;
+        boolean negative = false;
+        if (index < end && (buffer.get(index) == PLUS_SIGN || buffer.get(index) == MINUS_SIGN)) {
+            negative = buffer.get(index) == MINUS_SIGN;
+            index++;
+        }
+        if (index == end) {
+            return INVALID_NUMBER;
+        }
+        long number = 0;
+        for (; index < end; index++) {
+            byte digit = buffer.get(index);
+            if (digit < '0' || digit > '9') {
+                return digit < 0 ? parseDecodedNumber(buffer, start, end) : INVALID_NUMBER;
+            }
+            number = number * RADIX + (digit - '0');
+            if (number > (long) Integer.MAX_VALUE + 1) {
+                return INVALID_NUMBER;
+            }
+        }
+        number = negative ? -number : number;
+        return number < Integer.MIN_VALUE || number > Integer.MAX_VALUE ? INVALID_NUMBER : number;
+    }
+
+    private long parseDecodedNumber(ByteBuffer buffer, int start, int end) {
+        // non ASCII digits are accepted by Integer.parseInt as well
+        try {
+            return Integer.parseInt(decode(buffer, start, end));
+        } catch (NumberFormatException e) {
+            return INVALID_NUMBER;
+        }
+    }
+
+    private String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (length > this.decodeBuffer.length) {
+            this.decodeBuffer = new byte[Math.max(length, this.decodeBuffer.length * 2)];
+        }
+        buffer.get(start, this.decodeBuffer, 0, length);
+        return new String(this.decodeBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void createFile(String fileType, String identifier, int accessAmount, List<Tag> tags) {
+        File file;
+        try {
+            file = FileFactory.createFile(fileType, identifier, accessAmount);
+        } catch (InvalidFileTypeException e) {
+            reportError(FILE_TYPE_CHECK, e.getMessage());
+            return;
+        }
+        file.getTags().addAll(tags);
+        if (fileType.equals(PROGRAM_FILE_NAME)) {
+            file.getTags().add(TagFactory.createTag(BINARY_TAG_NAME, EXECUTABLE_TAG_NAME,
+                String.valueOf(BinaryTagType.DEFINED)));
+        }
+        if (file.getTags().hasDuplicateNames()) {
+            reportError(UNIQUE_TAG_PER_FILE_CHECK, NOT_UNIQUE_TAG_NAMES_MESSAGE);
+        }
+        if (isRelevant(COLLIDING_TAGS_CHECK)) {
+            String collidingTagsMessage = FileHandler.checkCollidingTagNames(List.of(file));
+            if (!collidingTagsMessage.isEmpty()) {
+                reportError(COLLIDING_TAGS_CHECK, collidingTagsMessage);
+            }
+        }
+        this.files.add(file);
+    }
+
+    private int tokenize(ByteBuffer buffer, int start, int end) {
+        int fieldCount = 0;
+        int fieldStart = start;
+        int fieldEnd;
+        do {
+            fieldEnd = indexOf(buffer, ENTRY_SEPARATOR, fieldStart, end);
+            if (fieldCount == this.fieldStarts.length) {
+                this.fieldStarts = Arrays.copyOf(this.fieldStarts, fieldCount * 2);
+                this.fieldEnds = Arrays.copyOf(this.fieldEnds, fieldCount * 2);
+            }
+            this.fieldStarts[fieldCount] = fieldStart;
+            this.fieldEnds[fieldCount] = fieldEnd;
+            fieldCount++;
+            fieldStart = fieldEnd + 1;
+        } while (fieldEnd < end);
+        // trailing empty fields are dropped, unless the line does not contain any separator
+        if (fieldCount > 1) {
+            while (fieldCount > 0 && this.fieldStarts[fieldCount - 1] == this.fieldEnds[fieldCount - 1]) {
+                fieldCount--;
+            }
+        }
+        return fieldCount;
+    }
+
+    private int indexOf(ByteBuffer buffer, byte character, int start, int end) {
+        int index = start;
+        while (index < end && buffer.get(index) != character) {
+            index++;
+        }
+        return index;
+    }
+
+    private int skipWhitespace(ByteBuffer buffer, int start, int end) {
+        int index = start;
+        while (index < end && isWhitespace(buffer.get(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private int skipTrailingWhitespace(ByteBuffer buffer, int start, int end) {
+        int index = end;
+        while (index > start && isWhitespace(buffer.get(index - 1))) {
+            index--;
+        }
+        return index;
+    }
+
+    private boolean isWhitespace(byte character) {
+        // equivalent to String.trim, bytes of multibyte characters are negative
+        return character >= 0 && character <= MAX_WHITESPACE_CHARACTER;
+    }
+
+    private boolean isRelevant(int check) {
+        return check < this.errorCheck;
+    }
+
+    private void reportError(int check, String message) {
+        if (isRelevant(check)) {
+            this.errorCheck = check;
+            this.errorMessage = message;
+        }
+    }
+}
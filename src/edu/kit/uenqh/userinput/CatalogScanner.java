@@ -0,0 +1,217 @@
+package edu.kit.uenqh.userinput;
+
+import edu.kit.uenqh.model.files.tags.Tag;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static edu.kit.uenqh.userinput.CommandConstants.NEXT_LINE;
+
+/**
+ * Scans a loaded file by mapping it into memory and splitting its bytes into lines.
+ * Files larger than a single mapping are mapped in several line-aligned regions.
+ * Large files are split into line-aligned chunks, which are parsed in parallel on the common {@link ForkJoinPool}.
+ * Lines are terminated by a line feed, a carriage return or a carriage return followed by a line feed.
+ *
+ * @author uenqh
+ */
+public class CatalogScanner {
+    private static final long MAX_REGION_SIZE = Integer.MAX_VALUE;
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final String LINE_TOO_LONG_MESSAGE = "a line of the loaded file exceeds the maximum mappable size";
+
+    private final Path path;
+    private final List<MappedByteBuffer> regions;
+
+    /**
+     * Constructs a new CatalogScanner for the file at the given path.
+     *
+     * @param path the path of the file to scan
+     */
+    public CatalogScanner(Path path) {
+        this.path = path;
+        this.regions = new ArrayList<>();
+    }
+
+    /**
+     * Maps the file and parses all of its lines.
+     * Lines after a parser's result is final are only checked for a valid encoding.
+     *
+     * @return the parser containing the result of all lines
+     * @throws IOException if the file cannot be mapped or is not valid UTF-8
+     */
+    public CatalogParser scan() throws IOException {
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                long regionSize = Math.min(MAX_REGION_SIZE, size - position);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+                int regionEnd = position + regionSize == size ? (int) regionSize : findLastLineEnd(region, region.limit());
+                this.regions.add(region.limit(regionEnd));
+                position += regionEnd;
+            }
+        }
+        List<ByteBuffer> chunks = createChunks();
+        if (chunks.size() <= 1) {
+            CatalogParser parser = new CatalogParser();
+            for (ByteBuffer chunk : chunks) {
+                scanChunk(chunk, parser, StandardCharsets.UTF_8.newDecoder());
+            }
+            return parser;
+        }
+        return scanInParallel(chunks);
+    }
+
+    /**
+     * Appends all scanned lines to the given output, each preceded by a line break.
+     *
+     * @param output the output to append the lines to
+     */
+    public void appendEntries(StringBuilder output) {
+        for (MappedByteBuffer region : this.regions) {
+            int lineStart = 0;
+            while (lineStart < region.limit()) {
+                int lineEnd = findLineEnd(region, lineStart);
+                output.append(NEXT_LINE);
+                output.append(StandardCharsets.UTF_8.decode(region.slice(lineStart, lineEnd - lineStart)));
+                lineStart = skipLineTerminator(region, lineEnd);
+            }
+        }
+    }
+
+    private CatalogParser scanInParallel(List<ByteBuffer> chunks) throws IOException {
+        Set<String> fileIdentifiers = ConcurrentHashMap.newKeySet();
+        Map<String, Class<? extends Tag>> tagTypes = new ConcurrentHashMap<>();
+        List<Callable<CatalogParser>> tasks = new ArrayList<>();
+        for (ByteBuffer chunk : chunks) {
+            tasks.add(() -> {
+                CatalogParser parser = new CatalogParser(fileIdentifiers, tagTypes);
+                scanChunk(chunk, parser, StandardCharsets.UTF_8.newDecoder());
+                return parser;
+            });
+        }
+        CatalogParser result = null;
+        for (Future<CatalogParser> future : ForkJoinPool.commonPool().invokeAll(tasks)) {
+            CatalogParser parser;
+            try {
+                parser = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ioException ? ioException : new IOException(e.getCause());
+            }
+            if (result == null) {
+                result = parser;
+            } else {
+                result.append(parser);
+            }
+        }
+        return result;
+    }
+
+    private List<ByteBuffer> createChunks() throws IOException {
+        long size = 0;
+        for (MappedByteBuffer region : this.regions) {
+            size += region.limit();
+        }
+        long chunkCount = (long) ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD;
+        int chunkSize = (int) Math.min(MAX_REGION_SIZE, Math.max(MIN_CHUNK_SIZE, size / chunkCount));
+        List<ByteBuffer> chunks = new ArrayList<>();
+        for (MappedByteBuffer region : this.regions) {
+            int chunkStart = 0;
+            while (chunkStart < region.limit()) {
+                int chunkEnd = region.limit();
+                if (chunkEnd - chunkStart > chunkSize + chunkSize / 2) {
+                    chunkEnd = findChunkEnd(region, chunkStart, chunkStart + chunkSize);
+                }
+                chunks.add(region.slice(chunkStart, chunkEnd - chunkStart));
+                chunkStart = chunkEnd;
+            }
+        }
+        return chunks;
+    }
+
+    private void scanChunk(ByteBuffer chunk, CatalogParser parser, CharsetDecoder decoder) throws IOException {
+        boolean parsing = true;
+        int lineStart = 0;
+        while (lineStart < chunk.limit()) {
+            int lineEnd = findLineEnd(chunk, lineStart);
+            checkEncoding(chunk, lineStart, lineEnd, decoder);
+            if (parsing) {
+                parsing = parser.parseLine(chunk, lineStart, lineEnd);
+            }
+            lineStart = skipLineTerminator(chunk, lineEnd);
+        }
+    }
+
+    private void checkEncoding(ByteBuffer chunk, int start, int end, CharsetDecoder decoder)
+        throws CharacterCodingException {
+        for (int i = start; i < end; i++) {
+            if (chunk.get(i) < 0) {
+                decoder.decode(chunk.slice(start, end - start));
+                return;
+            }
+        }
+    }
+
+    private int findLineEnd(ByteBuffer region, int start) {
+        int index = start;
+        while (index < region.limit() && region.get(index) != LINE_FEED && region.get(index) != CARRIAGE_RETURN) {
+            index++;
+        }
+        return index;
+    }
+
+    private int skipLineTerminator(ByteBuffer region, int lineEnd) {
+        if (lineEnd < region.limit() && region.get(lineEnd) == CARRIAGE_RETURN) {
+            int next = lineEnd + 1;
+            return next < region.limit() && region.get(next) == LINE_FEED ? next + 1 : next;
+        }
+        return lineEnd + 1;
+    }
+
+    private int findChunkEnd(ByteBuffer region, int chunkStart, int end) {
+        for (int i = end - 1; i > chunkStart; i--) {
+            if (region.get(i) == LINE_FEED) {
+                return i + 1;
+            }
+        }
+        for (int i = end; i < region.limit(); i++) {
+            if (region.get(i) == LINE_FEED) {
+                return i + 1;
+            }
+        }
+        return region.limit();
+    }
+
+    private int findLastLineEnd(ByteBuffer region, int end) throws IOException {
+        // regions and chunks end after a line feed, so a carriage return and line feed pair is never split
+        for (int i = end - 1; i >= 0; i--) {
+            if (region.get(i) == LINE_FEED) {
+                return i + 1;
+            }
+        }
+        throw new IOException(LINE_TOO_LONG_MESSAGE);
+    }
+}
@@ -1,10 +1,12 @@
 package edu.kit.uenqh.userinput;
 
 import edu.kit.uenqh.model.SortingSystem;
-import edu.kit.uenqh.model.files.File;
 import edu.kit.uenqh.model.files.FileRecord;
 
+import java.io.IOException;
+
 import static edu.kit.uenqh.userinput.CommandConstants.EMPTY_FILE_RECORD_MESSAGE;
+import static edu.kit.uenqh.userinput.CommandConstants.UNLOGGED_CHANGE_MESSAGE;
 
 /**
  * Represents a command to change the access amount of a file.
@@ -40,31 +42,23 @@ public CommandResult execute(SortingSystem model, String[] commandArguments) {
         if (model.getFileRecords().isEmpty()) {
             return new CommandResult(CommandResultType.FAILURE, EMPTY_FILE_RECORD_MESSAGE);
         }
-        if (!checkLegalFormat(commandArguments)) {
-            return new CommandResult(CommandResultType.FAILURE, INVALID_COMMAND_MESSAGE + VALID_COMMAND_MESSAGE);
+        CommandResult invalidArguments = checkArguments(model, commandArguments);
+        if (invalidArguments != null) {
+            return invalidArguments;
         }
         int id = Integer.parseInt(commandArguments[ID_INDEX]);
-        if (!checkIdExists(model, id)) {
-            return new CommandResult(CommandResultType.FAILURE, String.format(INVALID_ID_FORMAT, id));
-        }
         int accessAmount = Integer.parseInt(commandArguments[TOTAL_ACCESS_AMOUNT_INDEX]);
-        if (!checkLegalAccessAmount(accessAmount)) {
-            return new CommandResult(CommandResultType.FAILURE,
-                INVALID_ACCESS_AMOUNT_FORMAT.formatted(accessAmount, MIN_CHANGEABLE_ACCESS_AMOUNT));
-        }
         FileRecord fileRecord = model.getFileRecordById(id);
         String identifier = commandArguments[FILE_IDENTIFIER_INDEX];
-        if (!checkFileExists(fileRecord, identifier)) {
-            return new CommandResult(CommandResultType.FAILURE, String.format(INVALID_FILE_FORMAT, identifier));
-        }
-        int fileId = 0;
-        for (int i = 0; i < fileRecord.files().size(); i++) {
-            if (fileRecord.files().get(i).getIdentifier().equals(identifier)) {
-                fileId = i;
-            }
-        }
+        int fileId = fileRecord.getFileIndex(identifier);
         int oldAccessAmount = fileRecord.files().get(fileId).getAccessAmount();
-        model.getFileRecordById(id).files().get(fileId).setAccessAmount(accessAmount);
+        model.logAccessAmount(fileRecord, fileId, accessAmount);
+        try {
+            model.commitChanges();
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, UNLOGGED_CHANGE_MESSAGE);
+        }
+        model.changeAccessAmount(fileRecord, fileId, accessAmount);
         String message = SUCCESSFUL_CHANGE_FORMAT.formatted(oldAccessAmount, accessAmount, identifier);
         return new CommandResult(CommandResultType.SUCCESS, message);
     }
@@ -79,7 +73,34 @@ public int getNumberOfArguments() {
         return NUMBER_OF_ARGUMENTS;
     }
 
-    private boolean checkLegalFormat(String[] commandArguments) {
+    /**
+     * Checks whether the given arguments describe a valid change of an existing file.
+     *
+     * @param model            the sorting system model
+     * @param commandArguments the arguments of a change, in the format {@code <id> <file> <number>}
+     * @return the failed result describing the first invalid argument, or null if all arguments are valid
+     */
+    static CommandResult checkArguments(SortingSystem model, String[] commandArguments) {
+        if (commandArguments.length != NUMBER_OF_ARGUMENTS || !checkLegalFormat(commandArguments)) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_COMMAND_MESSAGE + VALID_COMMAND_MESSAGE);
+        }
+        int id = Integer.parseInt(commandArguments[ID_INDEX]);
+        if (!checkIdExists(model, id)) {
+            return new CommandResult(CommandResultType.FAILURE, String.format(INVALID_ID_FORMAT, id));
+        }
+        int accessAmount = Integer.parseInt(commandArguments[TOTAL_ACCESS_AMOUNT_INDEX]);
+        if (!checkLegalAccessAmount(accessAmount)) {
+            return new CommandResult(CommandResultType.FAILURE,
+                INVALID_ACCESS_AMOUNT_FORMAT.formatted(accessAmount, MIN_CHANGEABLE_ACCESS_AMOUNT));
+        }
+        String identifier = commandArguments[FILE_IDENTIFIER_INDEX];
+        if (model.getFileRecordById(id).getFileIndex(identifier) == FileRecord.NO_FILE_INDEX) {
+            return new CommandResult(CommandResultType.FAILURE, String.format(INVALID_FILE_FORMAT, identifier));
+        }
+        return null;
+    }
+
+    private static boolean checkLegalFormat(String[] commandArguments) {
         try {
             Integer.parseInt(commandArguments[ID_INDEX]);
             Integer.parseInt(commandArguments[TOTAL_ACCESS_AMOUNT_INDEX]);
@@ -88,20 +109,11 @@ private boolean checkLegalFormat(String[] commandArguments) {
         }
         return true;
     }
-    private boolean checkIdExists(SortingSystem model, int id) {
+    private static boolean checkIdExists(SortingSystem model, int id) {
         return model.getFileRecordById(id) != null;
     }
 
-    private boolean checkLegalAccessAmount(int accessAmount) {
+    private static boolean checkLegalAccessAmount(int accessAmount) {
         return accessAmount >= MIN_CHANGEABLE_ACCESS_AMOUNT;
     }
-
-    private boolean checkFileExists(FileRecord fileRecord, String identifier) {
-        for (File file : fileRecord.files()) {
-            if (file.getIdentifier().equals(identifier)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
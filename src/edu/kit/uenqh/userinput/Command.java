@@ -25,4 +25,13 @@ public interface Command {
      */
     int getNumberOfArguments();
 
+    /**
+     * Returns the maximum number of arguments that the command accepts, including optional arguments.
+     *
+     * @return the maximum number of arguments that the command accepts
+     */
+    default int getMaxNumberOfArguments() {
+        return getNumberOfArguments();
+    }
+
 }
@@ -28,6 +28,26 @@ public final class CommandConstants {
      */
     public static final String CHANGE_COMMAND_NAME = "change";
 
+    /**
+     * Represents the name of the batch change command.
+     */
+    public static final String BATCH_COMMAND_NAME = "batch";
+
+    /**
+     * Represents the name of the log command.
+     */
+    public static final String LOG_COMMAND_NAME = "log";
+
+    /**
+     * Represents the name of the save command.
+     */
+    public static final String SAVE_COMMAND_NAME = "save";
+
+    /**
+     * Represents the name of the restore command.
+     */
+    public static final String RESTORE_COMMAND_NAME = "restore";
+
     /**
      * Represents the name of the quit command.
      */
@@ -49,6 +69,11 @@ public final class CommandConstants {
      */
     public static final String EMPTY_FILE_RECORD_MESSAGE = "you must first load a file before changing it!";
 
+    /**
+     * Represents the message indicating that a change could not be written to the change log and was not applied.
+     */
+    public static final String UNLOGGED_CHANGE_MESSAGE = "the change could not be written to the log!";
+
     /**
      * Represents the string for a new line.
      */
@@ -2,18 +2,24 @@
 
 import edu.kit.uenqh.model.SortingSystem;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Scanner;
 
+import static edu.kit.uenqh.userinput.CommandConstants.BATCH_COMMAND_NAME;
 import static edu.kit.uenqh.userinput.CommandConstants.CHANGE_COMMAND_NAME;
 import static edu.kit.uenqh.userinput.CommandConstants.ERROR_PREFIX;
 import static edu.kit.uenqh.userinput.CommandConstants.LOAD_COMMAND_NAME;
+import static edu.kit.uenqh.userinput.CommandConstants.LOG_COMMAND_NAME;
 import static edu.kit.uenqh.userinput.CommandConstants.NEXT_LINE;
 import static edu.kit.uenqh.userinput.CommandConstants.QUIT_COMMAND_NAME;
+import static edu.kit.uenqh.userinput.CommandConstants.RESTORE_COMMAND_NAME;
 import static edu.kit.uenqh.userinput.CommandConstants.RUN_COMMAND_NAME;
+import static edu.kit.uenqh.userinput.CommandConstants.SAVE_COMMAND_NAME;
 import static edu.kit.uenqh.userinput.CommandConstants.INVALID_ARGUMENTS_COUNT_FORMAT;
 
 /**
@@ -30,6 +36,7 @@ public class CommandHandler {
     private final SortingSystem sortingSystem;
     private final Map<String, Command> commands;
     private boolean running = false;
+    private Scanner scanner;
 
     /**
      * Constructs a new CommandHandler.
@@ -49,12 +56,32 @@ public void handleUserInput() {
         this.running = true;
 
         try (Scanner scanner = new Scanner(System.in)) {
+            this.scanner = scanner;
             while (running && scanner.hasNextLine()) {
                 executeCommand(scanner.nextLine());
             }
         }
     }
 
+    /**
+     * Reads the following lines of user input up to the given terminator line, e.g. for commands taking a block of
+     * input.
+     *
+     * @param terminator the line ending the block, which is not included
+     * @return the lines of the block, or all remaining lines if the input ends before the terminator
+     */
+    public List<String> readBlock(String terminator) {
+        List<String> lines = new ArrayList<>();
+        while (this.scanner != null && this.scanner.hasNextLine()) {
+            String line = this.scanner.nextLine();
+            if (line.trim().equals(terminator)) {
+                break;
+            }
+            lines.add(line);
+        }
+        return lines;
+    }
+
     /**
      * Quits the interaction with the user.
      */
@@ -73,7 +100,8 @@ private void executeCommand(String commandWithArguments) {
     private void executeCommand(String commandName, String[] commandArguments) {
         if (!commands.containsKey(commandName)) {
             System.err.printf(ERROR_PREFIX + COMMAND_NOT_FOUND_FORMAT + NEXT_LINE, commandName);
-        } else if (commands.get(commandName).getNumberOfArguments() != commandArguments.length) {
+        } else if (commands.get(commandName).getNumberOfArguments() > commandArguments.length
+            || commands.get(commandName).getMaxNumberOfArguments() < commandArguments.length) {
             System.err.printf(ERROR_PREFIX + INVALID_ARGUMENTS_COUNT_FORMAT + NEXT_LINE, commandName);
         } else {
             CommandResult result = commands.get(commandName).execute(sortingSystem, commandArguments);
@@ -95,6 +123,10 @@ private void initCommands() {
         this.addCommand(LOAD_COMMAND_NAME, new LoadCommand());
         this.addCommand(RUN_COMMAND_NAME, new RunCommand());
         this.addCommand(CHANGE_COMMAND_NAME, new ChangeCommand());
+        this.addCommand(BATCH_COMMAND_NAME, new BatchChangeCommand());
+        this.addCommand(LOG_COMMAND_NAME, new LogCommand());
+        this.addCommand(SAVE_COMMAND_NAME, new SaveCommand());
+        this.addCommand(RESTORE_COMMAND_NAME, new RestoreCommand());
         this.addCommand(QUIT_COMMAND_NAME, new QuitCommand());
     }
 
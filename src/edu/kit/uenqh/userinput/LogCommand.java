@@ -0,0 +1,58 @@
+package edu.kit.uenqh.userinput;
+
+import edu.kit.uenqh.model.ChangeLog;
+import edu.kit.uenqh.model.SortingSystem;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Represents a command to open a change log, to which all following changes of access amounts are written before
+ * they are applied. The changes already in the log are applied to the loaded file records and to all file records
+ * loaded or restored later on, matching them by the path of the catalog the record was loaded from and by file
+ * identifier.
+ * Implements the {@link Command} interface.
+ *
+ * @author uenqh
+ */
+public class LogCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int PATH_INDEX = 0;
+
+    // return messages
+    private static final String INVALID_LOG_FORMAT = "the log at '%s' could not be opened: %s";
+    private static final String SUCCESSFUL_OPEN_FORMAT = "Opened log %s with %s changes";
+
+    /**
+     * Executes the command to open a change log.
+     *
+     * @param model            the sorting system model
+     * @param commandArguments the arguments provided with the command, where commandArguments[0] is the path of the
+     *                         log
+     * @return the result of executing the command
+     */
+    @Override
+    public CommandResult execute(SortingSystem model, String[] commandArguments) {
+        String path = commandArguments[PATH_INDEX];
+        ChangeLog changeLog;
+        try {
+            changeLog = ChangeLog.open(Paths.get(path));
+            model.openChangeLog(changeLog);
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_LOG_FORMAT.formatted(path, e.getMessage()));
+        }
+        return new CommandResult(CommandResultType.SUCCESS,
+            SUCCESSFUL_OPEN_FORMAT.formatted(path, changeLog.getChangeCount()));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return the number of arguments required for the command
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+}
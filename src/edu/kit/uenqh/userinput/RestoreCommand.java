@@ -0,0 +1,74 @@
+package edu.kit.uenqh.userinput;
+
+import edu.kit.uenqh.model.SortingSystem;
+import edu.kit.uenqh.model.files.File;
+import edu.kit.uenqh.model.files.FileRecord;
+import edu.kit.uenqh.model.files.FileRecordSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+/**
+ * Represents a command to restore a file record from a binary snapshot written by the save command.
+ * Unlike the load command, the files are neither parsed nor converted again. The restored file record is identified by
+ * the path of the catalog it was originally loaded from, not by the path of the snapshot.
+ * Implements the {@link Command} interface.
+ *
+ * @author uenqh
+ */
+public class RestoreCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int PATH_INDEX = 0;
+
+    // return messages
+    private static final String FILE_DOES_NOT_EXIST_FORMAT = "there is no file at '%s'";
+    private static final String INVALID_SNAPSHOT_FORMAT = "the file at '%s' is not a valid snapshot!";
+    private static final String EMPTY_SNAPSHOT_MESSAGE = "restored snapshot was empty!";
+    private static final String RESTORED_SUCCESSFULLY_FORMAT = "Restored %s with id: %s";
+
+    /**
+     * Executes the command to restore a file record.
+     *
+     * @param model            the sorting system model
+     * @param commandArguments the arguments provided with the command, where commandArguments[0] is the path of the
+     *                         snapshot
+     * @return the result of executing the command
+     */
+    @Override
+    public CommandResult execute(SortingSystem model, String[] commandArguments) {
+        String path = commandArguments[PATH_INDEX];
+        Path snapshot = Paths.get(path);
+        if (!Files.isRegularFile(snapshot)) {
+            return new CommandResult(CommandResultType.FAILURE, FILE_DOES_NOT_EXIST_FORMAT.formatted(path));
+        }
+        FileRecordSnapshot.Content content;
+        try {
+            content = FileRecordSnapshot.read(snapshot);
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_SNAPSHOT_FORMAT.formatted(path));
+        }
+        ArrayList<File> files = content.files();
+        if (files.isEmpty()) {
+            return new CommandResult(CommandResultType.FAILURE, EMPTY_SNAPSHOT_MESSAGE);
+        }
+
+        int id = model.getFileRecords().size();
+        // the record keeps the source it was saved from, so that changes logged against it are replayed
+        model.addFileRecord(new FileRecord(files, id, Paths.get(content.source())));
+        return new CommandResult(CommandResultType.SUCCESS, RESTORED_SUCCESSFULLY_FORMAT.formatted(path, id));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return the number of arguments required for the command
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+}
@@ -1,34 +1,68 @@
 package edu.kit.uenqh.userinput;
 
-import edu.kit.uenqh.model.InformationTheory;
+import edu.kit.uenqh.model.FileTree;
 import edu.kit.uenqh.model.SortingSystem;
+import edu.kit.uenqh.model.TreeSettings;
 import edu.kit.uenqh.model.files.FileRecord;
-import edu.kit.uenqh.model.files.tags.Tag;
-import edu.kit.uenqh.utility.TreeNode;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
 
 import static edu.kit.uenqh.userinput.CommandConstants.EMPTY_FILE_RECORD_MESSAGE;
 
 /**
  * Represents a command to run a file record with a specified ID.
+ * The ID may be followed by options of the form {@code <name>=<value>}:
+ * {@code parallel=<n>} creates the children of subtrees with at least n files in parallel,
+ * {@code parallelgain=<n>} calculates the information gains of subtrees with at least n files in parallel,
+ * {@code depth=<n>} only splits subtrees up to depth n, where the root has depth 0,
+ * {@code minfiles=<n>} only splits subtrees with at least n files,
+ * {@code minaccesses=<n>} only splits subtrees whose files have at least n accesses in total,
+ * {@code mingain=<x>} only splits subtrees by tag names with an information gain of at least x,
+ * {@code topk=<n>} only gives the n values of a tag name with the most accesses a child of their own and groups the
+ * other values in the child "other", and
+ * {@code sample=<n>} estimates the information gains of subtrees with more than n files from n files, which are
+ * drawn with replacement by access amount.
+ * The limits bound the size of the tree, and thereby the time and memory it takes to create it.
  *
  * @author uenqh
  */
 public class RunCommand implements Command {
     private static final int NUMBER_OF_ARGUMENTS = 1;
+    private static final int MAX_NUMBER_OF_OPTIONS = 8;
     private static final int ARGUMENT_INDEX = 0;
+    private static final int FIRST_OPTION_INDEX = 1;
+    private static final String OPTION_SEPARATOR = "=";
+    private static final int OPTION_PARTS = 2;
+    private static final int OPTION_NAME_INDEX = 0;
+    private static final int OPTION_VALUE_INDEX = 1;
+    private static final String PARALLEL_OPTION = "parallel";
+    private static final String PARALLEL_GAIN_OPTION = "parallelgain";
+    private static final String DEPTH_OPTION = "depth";
+    private static final String MIN_FILES_OPTION = "minfiles";
+    private static final String MIN_ACCESSES_OPTION = "minaccesses";
+    private static final String MIN_GAIN_OPTION = "mingain";
+    private static final String TOP_K_OPTION = "topk";
+    private static final String SAMPLE_OPTION = "sample";
+    private static final int MIN_PARALLEL_THRESHOLD = 1;
+    private static final int MIN_LIMIT = 0;
+    private static final int MIN_TOP_K = 1;
+    private static final int MIN_SAMPLE_SIZE = 1;
     private static final String INVALID_ARGUMENT_TYPE = "he entered ID must be a number!";
     private static final String UNKNOWN_ID = "the entered ID could not be found!";
+    private static final String INVALID_OPTION_FORMAT = "the entered option (%s) is invalid!";
+    private static final String UNWRITABLE_OUTPUT_MESSAGE = "the file tree could not be written!";
     private static final String SUCCESSFUL_RUN_MESSAGE = null;
 
     /**
      * Executes the command to run a file record with a specified ID.
      *
      * @param model The sorting system model.
-     * @param commandArguments The arguments for the command, where commandArguments[0] is the ID of the file record to run.
+     * @param commandArguments The arguments for the command, where commandArguments[0] is the ID of the file record to run
+     *                         and the remaining arguments are options.
      * @return The result of the command execution, indicating success or failure.
      */
     @Override
@@ -43,21 +77,28 @@ public CommandResult execute(SortingSystem model, String[] commandArguments) {
         if (!checkIfIdExists(model, id)) {
             return new CommandResult(CommandResultType.FAILURE, UNKNOWN_ID);
         }
-
-        // run record with ID
-        FileRecord fileRecord = model.getFileRecordById(id);
-        Map<String, ArrayList<Tag>> tagByName = new HashMap<>();
-        for (Tag t : fileRecord.tags()) {
-            tagByName.put(t.getName(), new ArrayList<>());
-        }
-        for (Tag t : fileRecord.tags()) {
-            if (!tagByName.get(t.getName()).contains(t)) {
-                tagByName.get(t.getName()).add(t);
+        TreeSettings settings = new TreeSettings();
+        for (int i = FIRST_OPTION_INDEX; i < commandArguments.length; i++) {
+            if (!applyOption(settings, commandArguments[i])) {
+                return new CommandResult(CommandResultType.FAILURE, INVALID_OPTION_FORMAT.formatted(commandArguments[i]));
             }
         }
 
-        TreeNode root = InformationTheory.createFileTree(tagByName, fileRecord.files());
-        System.out.println(root.toString());
+        // run record with ID, reusing its tree if it has been run with the same options before
+        FileTree fileTree = model.getTreeCache().get(id, settings);
+        if (fileTree == null) {
+            FileRecord fileRecord = model.getFileRecordById(id);
+            fileTree = new FileTree(fileRecord.tagsByName(), fileRecord.files(), settings);
+            model.getTreeCache().put(id, settings, fileTree);
+        }
+        // the output is streamed, as it can be far larger than the tree itself
+        Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, Charset.defaultCharset()));
+        try {
+            fileTree.write(writer);
+            writer.flush();
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, UNWRITABLE_OUTPUT_MESSAGE);
+        }
 
         return new CommandResult(CommandResultType.SUCCESS, SUCCESSFUL_RUN_MESSAGE);
     }
@@ -70,6 +111,92 @@ public CommandResult execute(SortingSystem model, String[] commandArguments) {
     public int getNumberOfArguments() {
         return NUMBER_OF_ARGUMENTS;
     }
+
+    /**
+     * Retrieves the maximum number of arguments, which includes one argument per option.
+     * @return The maximum number of arguments.
+     */
+    @Override
+    public int getMaxNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS + MAX_NUMBER_OF_OPTIONS;
+    }
+
+    private boolean applyOption(TreeSettings settings, String commandArgument) {
+        String[] option = commandArgument.split(OPTION_SEPARATOR, -1);
+        if (option.length != OPTION_PARTS) {
+            return false;
+        }
+        if (option[OPTION_NAME_INDEX].equals(MIN_GAIN_OPTION)) {
+            return applyMinGain(settings, option[OPTION_VALUE_INDEX]);
+        }
+        if (!checkValidArgumentType(option[OPTION_VALUE_INDEX])) {
+            return false;
+        }
+        int value = Integer.parseInt(option[OPTION_VALUE_INDEX]);
+        switch (option[OPTION_NAME_INDEX]) {
+            case PARALLEL_OPTION -> {
+                if (value < MIN_PARALLEL_THRESHOLD) {
+                    return false;
+                }
+                settings.setParallelThreshold(value);
+            }
+            case PARALLEL_GAIN_OPTION -> {
+                if (value < MIN_PARALLEL_THRESHOLD) {
+                    return false;
+                }
+                settings.setParallelGainThreshold(value);
+            }
+            case DEPTH_OPTION -> {
+                if (value < MIN_LIMIT) {
+                    return false;
+                }
+                settings.setMaxDepth(value);
+            }
+            case MIN_FILES_OPTION -> {
+                if (value < MIN_LIMIT) {
+                    return false;
+                }
+                settings.setMinFiles(value);
+            }
+            case MIN_ACCESSES_OPTION -> {
+                if (value < MIN_LIMIT) {
+                    return false;
+                }
+                settings.setMinAccesses(value);
+            }
+            case TOP_K_OPTION -> {
+                if (value < MIN_TOP_K) {
+                    return false;
+                }
+                settings.setTopK(value);
+            }
+            case SAMPLE_OPTION -> {
+                if (value < MIN_SAMPLE_SIZE) {
+                    return false;
+                }
+                settings.setSampleSize(value);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean applyMinGain(TreeSettings settings, String value) {
+        double minGain;
+        try {
+            minGain = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (!Double.isFinite(minGain) || minGain < MIN_LIMIT) {
+            return false;
+        }
+        settings.setMinGain(minGain);
+        return true;
+    }
+
     private boolean checkValidArgumentType(String commandArgument) {
         try {
             Integer.parseInt(commandArgument);
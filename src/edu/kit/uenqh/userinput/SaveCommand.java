@@ -0,0 +1,72 @@
+package edu.kit.uenqh.userinput;
+
+import edu.kit.uenqh.model.SortingSystem;
+import edu.kit.uenqh.model.files.FileRecord;
+import edu.kit.uenqh.model.files.FileRecordSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import static edu.kit.uenqh.userinput.CommandConstants.EMPTY_FILE_RECORD_MESSAGE;
+
+/**
+ * Represents a command to save a file record to a binary snapshot, which can be restored with the restore command.
+ * Implements the {@link Command} interface.
+ *
+ * @author uenqh
+ */
+public class SaveCommand implements Command {
+
+    private static final int NUMBER_OF_ARGUMENTS = 2;
+    private static final int ID_INDEX = 0;
+    private static final int PATH_INDEX = 1;
+
+    // return messages
+    private static final String INVALID_COMMAND_MESSAGE = "the entered command is invalid! This commands format is: ";
+    private static final String VALID_COMMAND_MESSAGE = "<id> <path>";
+    private static final String INVALID_ID_FORMAT = "the entered id (%s) does not exist!";
+    private static final String UNWRITABLE_FILE_FORMAT = "the file at '%s' could not be written!";
+    private static final String SUCCESSFUL_SAVE_FORMAT = "Saved file record %s to %s";
+
+    /**
+     * Executes the command to save a file record.
+     *
+     * @param model            the sorting system model
+     * @param commandArguments the arguments provided with the command, where commandArguments[0] is the id of the
+     *                         file record and commandArguments[1] is the path of the snapshot
+     * @return the result of executing the command
+     */
+    @Override
+    public CommandResult execute(SortingSystem model, String[] commandArguments) {
+        if (model.getFileRecords().isEmpty()) {
+            return new CommandResult(CommandResultType.FAILURE, EMPTY_FILE_RECORD_MESSAGE);
+        }
+        int id;
+        try {
+            id = Integer.parseInt(commandArguments[ID_INDEX]);
+        } catch (NumberFormatException e) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_COMMAND_MESSAGE + VALID_COMMAND_MESSAGE);
+        }
+        FileRecord fileRecord = model.getFileRecordById(id);
+        if (fileRecord == null) {
+            return new CommandResult(CommandResultType.FAILURE, INVALID_ID_FORMAT.formatted(id));
+        }
+        String path = commandArguments[PATH_INDEX];
+        try {
+            FileRecordSnapshot.write(fileRecord, Paths.get(path));
+        } catch (IOException e) {
+            return new CommandResult(CommandResultType.FAILURE, UNWRITABLE_FILE_FORMAT.formatted(path));
+        }
+        return new CommandResult(CommandResultType.SUCCESS, SUCCESSFUL_SAVE_FORMAT.formatted(id, path));
+    }
+
+    /**
+     * Retrieves the number of arguments required for the command.
+     *
+     * @return the number of arguments required for the command
+     */
+    @Override
+    public int getNumberOfArguments() {
+        return NUMBER_OF_ARGUMENTS;
+    }
+}
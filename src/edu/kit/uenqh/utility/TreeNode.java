@@ -2,56 +2,137 @@
 
 import edu.kit.uenqh.model.files.File;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Represents a node in a tree structure used for data processing.
+ * Represents an immutable node in a tree structure used for data processing.
+ * Everything the output of a node consists of, i.e. the path segments and the order of its children, its sorted
+ * information gains and its sorted files, is prepared when the node is created. Writing a tree only reads it, so a
+ * tree can be written by several threads at once.
  *
  * @author uenqh
  */
-public class TreeNode {
-    private static final String FINAL_CHILD_OUTPUT_FORMAT = "\"%s\"";
+public final class TreeNode {
+    private static final String FILE_QUOTE = "\"";
     private static final String PREFIX = "/";
     private static final String OUTPUT_SEPARATOR = "---";
     private static final String NEXT_LINE = "\n";
-    private static final String EMPTY_STRING = "";
     private static final String TAG_CONNECTOR = "=";
     private static final String DECIMAL_FORMAT = "%.2f";
+    private static final String LEAF_IDENTIFIER = "";
+    private static final double HUNDREDTHS = 100;
+    private static final double HALF = 0.5;
+    private static final Comparator<TreeNode> DATA_ORDER =
+        Comparator.comparing(node -> node.roundedProbability, Comparator.reverseOrder());
+    private static final Comparator<TreeNode> TREE_ORDER =
+        Comparator.<TreeNode>comparingDouble(node -> node.roundedProbability).reversed()
+            .thenComparing(TreeNode::getConnectingEdge);
     private final String identifier;
-    private final HashMap<String, Double> informationGain;
-    private String connectingEdge;
-    private double probability;
-    private String path;
+    private final Map<String, Double> informationGain;
+    private final String connectingEdge;
+    private final double probability;
+    private final double roundedProbability;
     private final List<TreeNode> children;
     private final List<File> files;
 
+    // prepared output
+    private final String[] gainLines;
+    private final TreeNode[] dataChildren;
+    private final String[] dataPathSegments;
+    private final TreeNode[] treeChildren;
+    private final String[] treePathSegments;
+
+    /**
+     * Constructs a leaf TreeNode with the given list of files.
+     *
+     * @param files The list of files associated with the TreeNode.
+     */
+    public TreeNode(List<File> files) {
+        File[] sortedFiles = files.toArray(new File[0]);
+        Arrays.sort(sortedFiles, Comparator.comparing(File::getIdentifier));
+        this.identifier = LEAF_IDENTIFIER;
+        this.informationGain = Collections.emptyMap();
+        this.connectingEdge = null;
+        this.probability = 0;
+        this.roundedProbability = 0;
+        this.children = Collections.emptyList();
+        this.files = List.of(sortedFiles);
+        this.gainLines = new String[0];
+        this.dataChildren = new TreeNode[0];
+        this.dataPathSegments = new String[0];
+        this.treeChildren = new TreeNode[0];
+        this.treePathSegments = new String[0];
+    }
+
     /**
-     * Constructs a TreeNode with the given identifier.
+     * Constructs an inner TreeNode with the given identifier, information gains and children.
      *
-     * @param identifier The identifier of the TreeNode.
+     * @param identifier      The identifier of the TreeNode.
+     * @param informationGain The map of tag names to their information gain.
+     * @param children        The children of the TreeNode, each with its connecting edge and probability.
      */
-    public TreeNode(String identifier) {
+    public TreeNode(String identifier, Map<String, Double> informationGain, List<TreeNode> children) {
         this.identifier = identifier;
-        this.informationGain = new HashMap<>();
-        this.children = new ArrayList<>();
-        this.files = new ArrayList<>();
+        this.informationGain = Collections.unmodifiableMap(new HashMap<>(informationGain));
+        this.connectingEdge = null;
+        this.probability = 0;
+        this.roundedProbability = 0;
+        this.children = List.copyOf(children);
+        this.files = Collections.emptyList();
+        this.gainLines = createGainLines(informationGain);
+
+        // the information gains list the children by probability and otherwise in the order they were added
+        TreeNode[] dataOrder = children.stream().filter(child -> !child.children.isEmpty()).toArray(TreeNode[]::new);
+        Arrays.sort(dataOrder, DATA_ORDER);
+        this.dataChildren = dataOrder;
+        this.dataPathSegments = new String[dataOrder.length];
+        for (int i = 0; i < dataOrder.length; i++) {
+            this.dataPathSegments[i] = createPathSegment(dataOrder[i]).toLowerCase();
+        }
+        // the tree lists the children by probability and path, where the paths of siblings only differ in their edges
+        TreeNode[] treeOrder = children.toArray(new TreeNode[0]);
+        Arrays.sort(treeOrder, TREE_ORDER);
+        this.treeChildren = treeOrder;
+        this.treePathSegments = new String[treeOrder.length];
+        for (int i = 0; i < treeOrder.length; i++) {
+            this.treePathSegments[i] = createPathSegment(treeOrder[i]);
+        }
+    }
+
+    private TreeNode(TreeNode node, String connectingEdge, double probability) {
+        this.identifier = node.identifier;
+        this.informationGain = node.informationGain;
+        this.connectingEdge = connectingEdge;
+        this.probability = probability;
+        this.roundedProbability = roundProbability(probability);
+        this.children = node.children;
+        this.files = node.files;
+        this.gainLines = node.gainLines;
+        this.dataChildren = node.dataChildren;
+        this.dataPathSegments = node.dataPathSegments;
+        this.treeChildren = node.treeChildren;
+        this.treePathSegments = node.treePathSegments;
     }
 
     /**
-     * Constructs a TreeNode with the given list of files.
+     * Creates a copy of the TreeNode with the given connecting edge and probability, which shares everything else.
      *
-     * @param files The list of files associated with the TreeNode.
+     * @param connectingEdge The connecting edge of the copy.
+     * @param probability    The probability of the copy.
+     * @return The copy of the TreeNode.
      */
-    public TreeNode(List<File> files) {
-        this.files = new ArrayList<>(files);
-        this.identifier = "";
-        this.informationGain = new HashMap<>();
-        this.children = new ArrayList<>();
+    public TreeNode withConnectingEdge(String connectingEdge, double probability) {
+        return new TreeNode(this, connectingEdge, probability);
     }
 
     /**
@@ -72,166 +153,191 @@ public String getConnectingEdge() {
         return this.connectingEdge;
     }
 
-    /**
-     * Sets the connecting edge of the TreeNode.
-     *
-     * @param s The connecting edge to set.
-     */
-    public void setConnectingEdge(String s) {
-        this.connectingEdge = s;
-    }
-
     /**
      * Retrieves the information gain of the TreeNode.
      *
-     * @return The information gain of the TreeNode.
+     * @return An unmodifiable view of the information gain of the TreeNode.
      */
-    public HashMap<String, Double> getInformationGain() {
+    public Map<String, Double> getInformationGain() {
         return this.informationGain;
     }
 
     /**
      * Retrieves the children of the TreeNode.
      *
-     * @return The children of the TreeNode.
+     * @return An unmodifiable list of the children of the TreeNode, in the order they were added.
      */
     public List<TreeNode> getChildren() {
-        return children;
+        return this.children;
     }
 
     /**
-     * Adds a child TreeNode to the TreeNode.
+     * Retrieves the files of the TreeNode.
      *
-     * @param child The child TreeNode to add.
+     * @return An unmodifiable list of the files of the TreeNode, sorted by identifier.
      */
-    public void addChild(TreeNode child) {
-        children.add(child);
+    public List<File> getFiles() {
+        return this.files;
     }
 
     /**
-     * Sorts the children of the TreeNode based on probability (descending) and identifier (lexicographically).
-     */
-    private void sortChildren() {
-        this.children.sort(Comparator.comparingDouble(TreeNode::getProbability).reversed().thenComparing(TreeNode::getPath));
-    }
-
-    private void sortFiles() {
-        this.files.sort(Comparator.comparing(File::getIdentifier));
-    }
-
-    /**
-     * Retrieves the probability of the TreeNode.
+     * Retrieves the probability of the TreeNode. Siblings are ordered by their probabilities rounded to two decimal
+     * places, so siblings whose probabilities only differ after that are ordered by their connecting edges.
      *
-     * @return The probability of the TreeNode.
+     * @return The full-precision probability of the TreeNode.
      */
     public double getProbability() {
-        return probability;
+        return this.probability;
     }
 
     /**
-     * Retrieves the path of the TreeNode.
+     * Generates a string representation of the TreeNode.
      *
-     * @return The path of the TreeNode.
+     * @return The string representation of the TreeNode.
      */
-    public String getPath() {
-        return path;
+    @Override
+    public String toString() {
+        StringWriter writer = new StringWriter();
+        try {
+            write(writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        StringBuffer buffer = writer.getBuffer();
+        buffer.setLength(buffer.length() - NEXT_LINE.length());
+        return buffer.toString();
     }
 
     /**
-     * Sets the probability of the TreeNode.
+     * Writes the string representation of the TreeNode to the given writer while traversing the tree, followed by a
+     * line break. The paths of the nodes are kept in one buffer, which grows and shrinks along the traversal, so no
+     * intermediate strings are created per level.
      *
-     * @param probability The probability to set.
+     * @param writer The writer to write to.
+     * @throws IOException If the writer fails.
      */
-    public void setProbability(double probability) {
-        this.probability = Double.parseDouble(String.format(DECIMAL_FORMAT, probability));
+    public void write(Writer writer) throws IOException {
+        writeDataRecursive(this, writer, new PathBuffer());
+        writer.write(OUTPUT_SEPARATOR + NEXT_LINE);
+        writeTreeRecursive(this, writer, new PathBuffer());
+    }
+
+    private static void writeDataRecursive(TreeNode node, Writer writer, PathBuffer path) throws IOException {
+        for (String gainLine : node.gainLines) {
+            path.writeTo(writer);
+            writer.write(gainLine);
+        }
+        for (int i = 0; i < node.dataChildren.length; i++) {
+            int length = path.append(node.dataPathSegments[i]);
+            writeDataRecursive(node.dataChildren[i], writer, path);
+            path.truncate(length);
+        }
+    }
+
+    private static void writeTreeRecursive(TreeNode node, Writer writer, PathBuffer path) throws IOException {
+        for (File file : node.files) {
+            path.writeTo(writer);
+            writer.write(PREFIX);
+            writer.write(FILE_QUOTE);
+            writer.write(file.getIdentifier());
+            writer.write(FILE_QUOTE);
+            writer.write(NEXT_LINE);
+        }
+        for (int i = 0; i < node.treeChildren.length; i++) {
+            int length = path.append(node.treePathSegments[i]);
+            writeTreeRecursive(node.treeChildren[i], writer, path);
+            path.truncate(length);
+        }
     }
 
     /**
-     * Generates a string representation of the TreeNode.
-     *
-     * @return The string representation of the TreeNode.
+     * Rounds a probability to two decimal places like {@link String#format} does, which rounds the shortest decimal
+     * representation of the probability half up. A probability is therefore compared to the closest doubles of the
+     * decimals, not to the decimals themselves.
      */
-    @Override
-    public String toString() {
-        StringBuilder builder = new StringBuilder();
-        builder.append(printDataRecursive(this, new StringBuilder(), EMPTY_STRING));
-        builder.append(OUTPUT_SEPARATOR + NEXT_LINE);
-        builder.append(printTreeRecursive(this, new StringBuilder(), EMPTY_STRING));
-        builder.replace(builder.length() - NEXT_LINE.length(), builder.length(), "");
-        return builder.toString();
-    }
-
-    private StringBuilder printDataRecursive(TreeNode node, StringBuilder builder, String path) {
-        for (String s : sortHashMapByValue(node.getInformationGain()).keySet()) {
-            if (node.getInformationGain().get(s) != 0) {
-                builder.append(path.toLowerCase());
-                builder.append(PREFIX);
-                builder.append(s.toLowerCase());
-                builder.append(TAG_CONNECTOR);
-                builder.append(String.format(DECIMAL_FORMAT, node.getInformationGain().get(s)));
-                builder.append(NEXT_LINE);
-            }
+    private static double roundProbability(double probability) {
+        if (!Double.isFinite(probability)) {
+            return probability;
         }
-        node.children.sort(Comparator.comparing(TreeNode::getProbability, Comparator.reverseOrder()));
-        for (TreeNode child : node.getChildren()) {
-            if (!child.getChildren().isEmpty()) {
-                StringBuilder newPath = new StringBuilder();
-                newPath.append(path.toLowerCase());
-                newPath.append(PREFIX);
-                newPath.append(node.identifier);
-                newPath.append(TAG_CONNECTOR);
-                newPath.append(child.getConnectingEdge());
-                builder.append(printDataRecursive(child, new StringBuilder(), newPath.toString()));
-            }
+        double hundredths = Math.floor(probability * HUNDREDTHS);
+        // corrects the floor of the product, which is rounded itself
+        if (probability < hundredths / HUNDREDTHS) {
+            hundredths--;
+        } else if (probability >= (hundredths + 1) / HUNDREDTHS) {
+            hundredths++;
+        }
+        if (probability >= (hundredths + HALF) / HUNDREDTHS) {
+            hundredths++;
         }
-        return builder;
+        // the quotient is the closest double to the decimal, as parsing the formatted probability returned
+        return hundredths / HUNDREDTHS;
     }
 
-    private StringBuilder printTreeRecursive(TreeNode node, StringBuilder builder, String path) {
-        if (node.children.isEmpty()) {
-            builder.append(PREFIX);
-            node.sortFiles();
-            for (File file : node.files) {
-                builder.append(String.format(FINAL_CHILD_OUTPUT_FORMAT, file.getIdentifier()));
-                builder.append(NEXT_LINE);
-                builder.append(path).append(PREFIX);
-            }
-            builder.replace(builder.length() - PREFIX.length() - path.length(), builder.length(), "");
-        } else {
-            for (TreeNode child : node.children) {
-                StringBuilder newPath = new StringBuilder();
-                newPath.append(path);
-                newPath.append(PREFIX);
-                newPath.append(node.identifier);
-                newPath.append(TAG_CONNECTOR);
-                newPath.append(child.getConnectingEdge());
-                child.path = newPath.toString();
-            }
-            node.sortChildren();
-            for (TreeNode child : node.children) {
-                if (child.getChildren().isEmpty()) {
-                    builder.append(child.path);
-                }
-                builder.append(printTreeRecursive(child, new StringBuilder(), child.path));
+    private String createPathSegment(TreeNode child) {
+        return PREFIX + this.identifier + TAG_CONNECTOR + child.connectingEdge;
+    }
+
+    /**
+     * Creates the output lines of the information gains other than zero, without the path of the node, sorted by
+     * information gain (descending) and tag name (lexicographically).
+     */
+    private static String[] createGainLines(Map<String, Double> informationGain) {
+        List<Map.Entry<String, Double>> gains = new ArrayList<>(informationGain.entrySet());
+        gains.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<String, Double> gain : gains) {
+            if (gain.getValue() != 0) {
+                lines.add(PREFIX + gain.getKey().toLowerCase() + TAG_CONNECTOR
+                    + String.format(DECIMAL_FORMAT, gain.getValue()) + NEXT_LINE);
             }
         }
-        return builder;
+        return lines.toArray(new String[0]);
     }
 
-    private static HashMap<String, Double> sortHashMapByValue(HashMap<String, Double> map) {
-        // Convert HashMap to List of Map Entries
-        List<Map.Entry<String, Double>> list = new ArrayList<>(map.entrySet());
+    /**
+     * Represents the path of the currently traversed node as a growable character buffer.
+     * Each traversal uses its own buffer.
+     */
+    private static final class PathBuffer {
+        private static final int INITIAL_CAPACITY = 64;
+        private char[] chars = new char[INITIAL_CAPACITY];
+        private int length;
 
-        // Sort the list based on double values, and then by keys lexicographically
-        list.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
-            .thenComparing(Map.Entry.comparingByKey()));
+        /**
+         * Appends the given segment to the path.
+         *
+         * @param segment The segment to append.
+         * @return The length of the path before appending, to truncate it to afterwards.
+         */
+        int append(String segment) {
+            int oldLength = this.length;
+            int newLength = oldLength + segment.length();
+            if (newLength > this.chars.length) {
+                this.chars = Arrays.copyOf(this.chars, Math.max(newLength, this.chars.length * 2));
+            }
+            segment.getChars(0, segment.length(), this.chars, oldLength);
+            this.length = newLength;
+            return oldLength;
+        }
 
-        // Create a new LinkedHashMap to preserve the insertion order
-        LinkedHashMap<String, Double> sortedMap = new LinkedHashMap<>();
-        for (Map.Entry<String, Double> entry : list) {
-            sortedMap.put(entry.getKey(), entry.getValue());
+        /**
+         * Truncates the path to the given length.
+         *
+         * @param length The new length of the path.
+         */
+        void truncate(int length) {
+            this.length = length;
         }
 
-        return sortedMap;
+        /**
+         * Writes the path to the given writer.
+         *
+         * @param writer The writer to write to.
+         * @throws IOException If the writer fails.
+         */
+        void writeTo(Writer writer) throws IOException {
+            writer.write(this.chars, 0, this.length);
+        }
     }
 }